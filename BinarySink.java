@@ -0,0 +1,73 @@
+// The .bin sink, see MSTSink
+//
+// Each part is a tag int, the vertex count and then its data, all little endian:
+//     EDGES         n, then n triples u v wgt
+//     LONG_EDGES    n, then n triples u v wgt with a long wgt
+//     DOUBLE_EDGES  n, then n triples u v wgt with an IEEE 754 double wgt
+//     PARENTS       parent[1..V]
+
+import java.io.*;
+
+class BinarySink extends BufferedSink
+{
+    static final int EDGES = 0x4554534D;          // "MSTE"
+    static final int LONG_EDGES = 0x4C54534D;     // "MSTL"
+    static final int DOUBLE_EDGES = 0x4454534D;   // "MSTD"
+    static final int PARENTS = 0x5054534D;        // "MSTP"
+
+    BinarySink(OutputStream out)
+    {
+        super(out, true);
+    }
+
+    public void note(String line)
+    {
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, int[] wgt) throws IOException
+    {
+        putIntLE(EDGES);
+        putIntLE(V);
+        putIntLE(n);
+        for(int i = 0; i < n; ++i)
+        {
+            putIntLE(u[i]);
+            putIntLE(v[i]);
+            putIntLE(wgt[i]);
+        }
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, long[] wgt) throws IOException
+    {
+        putIntLE(LONG_EDGES);
+        putIntLE(V);
+        putIntLE(n);
+        for(int i = 0; i < n; ++i)
+        {
+            putIntLE(u[i]);
+            putIntLE(v[i]);
+            putLongLE(wgt[i]);
+        }
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, double[] wgt) throws IOException
+    {
+        putIntLE(DOUBLE_EDGES);
+        putIntLE(V);
+        putIntLE(n);
+        for(int i = 0; i < n; ++i)
+        {
+            putIntLE(u[i]);
+            putIntLE(v[i]);
+            putLongLE(Double.doubleToLongBits(wgt[i]));
+        }
+    }
+
+    public void parents(int V, int[] parent) throws IOException
+    {
+        putIntLE(PARENTS);
+        putIntLE(V);
+        for(int v = 1; v <= V; ++v)
+            putIntLE(parent[v]);
+    }
+}
@@ -0,0 +1,95 @@
+// A byte buffer in front of an OutputStream, with ASCII and number writers
+
+import java.io.*;
+
+abstract class BufferedSink implements MSTSink
+{
+    private final OutputStream out;
+    private final boolean closeStream;
+    private final byte[] buf = new byte[1 << 16];
+    private int n;
+
+    protected BufferedSink(OutputStream _out, boolean _closeStream)
+    {
+        out = _out;
+        closeStream = _closeStream;
+    }
+
+    protected void put(char c) throws IOException
+    {
+        if (n == buf.length)
+            drain();
+        buf[n++] = (byte) c;
+    }
+
+    protected void put(String s) throws IOException
+    {
+        for(int i = 0; i < s.length(); ++i)
+            put(s.charAt(i));
+    }
+
+    // decimal digits of x. The magnitude is taken as unsigned, as -x
+    // overflows for Long.MIN_VALUE and leaves it at 2^63 unsigned.
+    protected void putNumber(long x) throws IOException
+    {
+        if (n + 20 > buf.length)
+            drain();
+        if (x < 0)
+        {
+            buf[n++] = '-';
+            x = -x;
+        }
+        int start = n;
+        do
+        {
+            buf[n++] = (byte) ('0' + Long.remainderUnsigned(x, 10));
+            x = Long.divideUnsigned(x, 10);
+        } while(x != 0);
+
+        for(int i = start, j = n - 1; i < j; ++i, --j)
+        {
+            byte t = buf[i];
+            buf[i] = buf[j];
+            buf[j] = t;
+        }
+    }
+
+    protected void putIntLE(int x) throws IOException
+    {
+        if (n + 4 > buf.length)
+            drain();
+        buf[n++] = (byte) x;
+        buf[n++] = (byte) (x >>> 8);
+        buf[n++] = (byte) (x >>> 16);
+        buf[n++] = (byte) (x >>> 24);
+    }
+
+    protected void putLongLE(long x) throws IOException
+    {
+        putIntLE((int) x);
+        putIntLE((int) (x >>> 32));
+    }
+
+    // vertex u as a letter when V is small enough, as the programs always printed it
+    protected void putVertex(int V, int u) throws IOException
+    {
+        if (V <= 26)
+            put((char) (u + 64));
+        else
+            putNumber(u);
+    }
+
+    private void drain() throws IOException
+    {
+        out.write(buf, 0, n);
+        n = 0;
+    }
+
+    public void close() throws IOException
+    {
+        drain();
+        out.flush();
+        if (closeStream)
+            out.close();
+    }
+}
@@ -0,0 +1,132 @@
+// Compressed sparse row (CSR) adjacency arrays for an undirected weighted graph
+//    the neighbours of v are targets[offsets[v]] .. targets[offsets[v+1]-1]
+//    and weights[i] is the weight of the edge to targets[i]
+// Each undirected edge is stored twice, once from each end.
+
+class CSRArrays
+{
+    public int V, E;
+    public int[] offsets;
+    public int[] targets;
+    public int[] weights;
+
+    public CSRArrays(int _V, int _E, int[] _offsets, int[] _targets, int[] _weights)
+    {
+        V = _V;
+        E = _E;
+        offsets = _offsets;
+        targets = _targets;
+        weights = _weights;
+    }
+
+    // Builds the CSR arrays in two passes over the edges.
+    // Pass 1 counts the degree of each vertex and turns the counts into offsets.
+    // Pass 2 drops every edge into both of its end points' slots. Slots are filled
+    // from the back so each vertex sees its neighbours in reverse input order,
+    // the same order linked lists built by prepending would give.
+    public static CSRArrays build(EdgeList el)
+    {
+        int e, v, u;
+        int V = el.V, E = el.E;
+        int[] pos;
+
+        int[] offsets = new int[V + 2];
+        int[] targets = new int[2 * E];
+        int[] weights = new int[2 * E];
+
+        // pass 1: degree count, shifted by one so a prefix sum gives the end offsets
+        for(e = 0; e < E; ++e)
+        {
+            offsets[el.u[e] + 1]++;
+            offsets[el.v[e] + 1]++;
+        }
+        for(v = 1; v <= V + 1; ++v)
+            offsets[v] += offsets[v - 1];
+
+        // pass 2: fill, pos[v] starts at the end of v's slot range
+        pos = new int[V + 1];
+        for(v = 0; v <= V; ++v)
+            pos[v] = offsets[v + 1];
+
+        for(e = 0; e < E; ++e)
+        {
+            u = el.u[e];
+            v = el.v[e];
+
+            targets[--pos[u]] = v;
+            weights[pos[u]] = el.wgt[e];
+
+            targets[--pos[v]] = u;
+            weights[pos[v]] = el.wgt[e];
+        }
+
+        return new CSRArrays(V, E, offsets, targets, weights);
+    }
+
+    // The weight independent half of build, for the long and double weight
+    // graphs: fills offsets[V+2] and targets[2E] just as build does and
+    // returns the number of the edge held in each slot, so the caller copies
+    // its own weights with weights[i] = ew[edgeAt[i]].
+    public static int[] layout(int V, int E, int[] eu, int[] ev, int[] offsets, int[] targets)
+    {
+        int e, v, u;
+        int[] pos;
+        int[] edgeAt = new int[2 * E];
+
+        for(e = 0; e < E; ++e)
+        {
+            offsets[eu[e] + 1]++;
+            offsets[ev[e] + 1]++;
+        }
+        for(v = 1; v <= V + 1; ++v)
+            offsets[v] += offsets[v - 1];
+
+        pos = new int[V + 1];
+        for(v = 0; v <= V; ++v)
+            pos[v] = offsets[v + 1];
+
+        for(e = 0; e < E; ++e)
+        {
+            u = eu[e];
+            v = ev[e];
+
+            targets[--pos[u]] = v;
+            edgeAt[pos[u]] = e;
+
+            targets[--pos[v]] = u;
+            edgeAt[pos[v]] = e;
+        }
+        return edgeAt;
+    }
+
+    // Recovers one entry per undirected edge, taking each edge from its lower numbered end.
+    // A self loop sits twice in its vertex's slice so only every second copy is kept.
+    public EdgeList toEdgeList()
+    {
+        int v, i, t, e = 0;
+        boolean selfSeen;
+        EdgeList el = new EdgeList(V, E);
+
+        for(v = 1; v <= V; ++v)
+        {
+            selfSeen = false;
+            for(i = offsets[v]; i < offsets[v + 1]; ++i)
+            {
+                t = targets[i];
+                if (t < v)
+                    continue;
+                if (t == v)
+                {
+                    selfSeen = !selfSeen;
+                    if (!selfSeen)
+                        continue;
+                }
+                el.u[e] = v;
+                el.v[e] = t;
+                el.wgt[e] = weights[i];
+                e++;
+            }
+        }
+        return el;
+    }
+}
@@ -0,0 +1,69 @@
+// u,v,weight and vertex,parent rows, each under a header line; notes are not written
+
+import java.io.*;
+
+class CsvSink extends BufferedSink
+{
+    CsvSink(OutputStream out)
+    {
+        super(out, true);
+    }
+
+    public void note(String line)
+    {
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, int[] wgt) throws IOException
+    {
+        put("u,v,weight\n");
+        for(int i = 0; i < n; ++i)
+        {
+            ends(u[i], v[i]);
+            putNumber(wgt[i]);
+            put('\n');
+        }
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, long[] wgt) throws IOException
+    {
+        put("u,v,weight\n");
+        for(int i = 0; i < n; ++i)
+        {
+            ends(u[i], v[i]);
+            putNumber(wgt[i]);
+            put('\n');
+        }
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, double[] wgt) throws IOException
+    {
+        put("u,v,weight\n");
+        for(int i = 0; i < n; ++i)
+        {
+            ends(u[i], v[i]);
+            put(String.valueOf(wgt[i]));
+            put('\n');
+        }
+    }
+
+    // "u,v," of a row
+    private void ends(int u, int v) throws IOException
+    {
+        putNumber(u);
+        put(',');
+        putNumber(v);
+        put(',');
+    }
+
+    public void parents(int V, int[] parent) throws IOException
+    {
+        put("vertex,parent\n");
+        for(int v = 1; v <= V; ++v)
+        {
+            putNumber(v);
+            put(',');
+            putNumber(parent[v]);
+            put('\n');
+        }
+    }
+}
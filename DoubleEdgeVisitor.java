@@ -0,0 +1,10 @@
+// Receives the header and then each edge, with its weight read as double,
+// in file order as it is parsed, for EdgeListLoader.scanDouble
+
+import java.io.*;
+
+interface DoubleEdgeVisitor
+{
+    void header(int V, long E) throws IOException;
+    void edge(int u, int v, double wgt) throws IOException;
+}
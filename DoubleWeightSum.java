@@ -0,0 +1,37 @@
+// Total of double weights for the double weight variants of the MST programs
+//
+// Neumaier's compensated summation, so a total of many small fractional
+// costs keeps the digits a plain double sum would round away. It is a few
+// primitive operations per add and allocates nothing, so it can sit in the
+// MST loops.
+
+final class DoubleWeightSum
+{
+    private double sum, compensation;
+
+    void add(double w)
+    {
+        double t = sum + w;
+        // the low order bits lost from whichever of sum and w is smaller
+        if (Math.abs(sum) >= Math.abs(w))
+            compensation += (sum - t) + w;
+        else
+            compensation += (w - t) + sum;
+        sum = t;
+    }
+
+    void reset()
+    {
+        sum = compensation = 0;
+    }
+
+    double value()
+    {
+        return sum + compensation;
+    }
+
+    public String toString()
+    {
+        return String.valueOf(value());
+    }
+}
@@ -0,0 +1,15 @@
+// Edges of a graph file held in primitive arrays, edge e is u[e]--(wgt[e])--v[e]
+class EdgeList
+{
+    public int V, E;
+    public int[] u, v, wgt;
+
+    public EdgeList(int _V, int _E)
+    {
+        V = _V;
+        E = _E;
+        u = new int[E];
+        v = new int[E];
+        wgt = new int[E];
+    }
+}
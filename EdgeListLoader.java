@@ -0,0 +1,323 @@
+// Edge list loader shared by GraphLists, GraphMatrix and the Prim and Kruskal graphs
+// Reads the "V E" header and the "u v w" edge lines of a graph file.
+// The file is memory mapped with NIO and parsed straight from the mapped bytes,
+// so no String, String[] or regex is created per edge.
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+class EdgeListLoader
+{
+    // Files larger than this are mapped one window at a time
+    private static final long WINDOW = 1L << 30;
+
+    // Loads every edge of the file into an EdgeList
+    public static EdgeList load(String graphFile, boolean quiet) throws IOException
+    {
+        final EdgeList[] result = new EdgeList[1];
+
+        scan(graphFile, quiet, new EdgeVisitor() {
+            private int e = 0;
+
+            public void header(int V, long E) throws IOException
+            {
+                if (E > Integer.MAX_VALUE)
+                    throw new IOException(graphFile + ": " + E + " edges do not fit in an edge array");
+                result[0] = new EdgeList(V, (int) E);
+            }
+
+            public void edge(int u, int v, int wgt)
+            {
+                EdgeList el = result[0];
+                el.u[e] = u;
+                el.v[e] = v;
+                el.wgt[e] = wgt;
+                e++;
+            }
+        });
+        return result[0];
+    }
+
+    // Streams the header and then every edge of the file to the visitor without storing them.
+    // Unless quiet or silent (see MSTSinks), the header and each edge are echoed, buffered,
+    // as the graph constructors always did.
+    // Files in the GraphBinary format are streamed too, with no echo.
+    public static void scan(String graphFile, boolean quiet, EdgeVisitor visitor) throws IOException
+    {
+        MSTPhaseEvent phase = MSTMetrics.begin("load", "parse");
+        try
+        {
+            if (GraphBinary.isBinary(graphFile))
+                GraphBinary.scanEdges(graphFile, visitor);
+            else
+                parse(graphFile, quiet || MSTSinks.silent, new Parser(graphFile, quiet || MSTSinks.silent, visitor, null, null));
+        }
+        finally
+        {
+            MSTMetrics.end(phase);
+        }
+    }
+
+    // As scan, with weights anywhere in the long range
+    public static void scanLong(String graphFile, boolean quiet, final LongEdgeVisitor visitor) throws IOException
+    {
+        MSTPhaseEvent phase = MSTMetrics.begin("load", "parse");
+        try
+        {
+            if (GraphBinary.isBinary(graphFile))
+                GraphBinary.scanEdges(graphFile, new EdgeVisitor() {
+                    public void header(int V, long E) throws IOException
+                    {
+                        visitor.header(V, E);
+                    }
+
+                    public void edge(int u, int v, int wgt) throws IOException
+                    {
+                        visitor.edge(u, v, wgt);
+                    }
+                });
+            else
+                parse(graphFile, quiet || MSTSinks.silent, new Parser(graphFile, quiet || MSTSinks.silent, null, visitor, null));
+        }
+        finally
+        {
+            MSTMetrics.end(phase);
+        }
+    }
+
+    // As scan, with weights that may have a decimal fraction, such as 12.375
+    public static void scanDouble(String graphFile, boolean quiet, final DoubleEdgeVisitor visitor) throws IOException
+    {
+        MSTPhaseEvent phase = MSTMetrics.begin("load", "parse");
+        try
+        {
+            if (GraphBinary.isBinary(graphFile))
+                GraphBinary.scanEdges(graphFile, new EdgeVisitor() {
+                    public void header(int V, long E) throws IOException
+                    {
+                        visitor.header(V, E);
+                    }
+
+                    public void edge(int u, int v, int wgt) throws IOException
+                    {
+                        visitor.edge(u, v, wgt);
+                    }
+                });
+            else
+                parse(graphFile, quiet || MSTSinks.silent, new Parser(graphFile, quiet || MSTSinks.silent, null, null, visitor));
+        }
+        finally
+        {
+            MSTMetrics.end(phase);
+        }
+    }
+
+    // The parser is closed with the file, so its echo sink is flushed and closed
+    // even when a bad line stops the parse part way
+    private static void parse(String graphFile, boolean quiet, Parser p) throws IOException
+    {
+        try (p; FileChannel ch = FileChannel.open(Paths.get(graphFile), StandardOpenOption.READ))
+        {
+            long size = ch.size();
+            long pos = 0;
+
+            while(pos < size && !p.done())
+            {
+                long len = Math.min(WINDOW, size - pos);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                p.feed(buf, (int) len);
+                pos += len;
+            }
+            p.finish();
+        }
+    }
+
+    // Byte at a time tokenizer. Numbers may be split across two mapped windows,
+    // so the partially read number is kept in the parser between calls to feed().
+    // Exactly one of the three visitors is set and it decides how weights are read.
+    private static class Parser implements Closeable
+    {
+        // powers of ten that are exact as doubles
+        private static final double[] POW10 = new double[23];
+        static
+        {
+            POW10[0] = 1;
+            for(int i = 1; i < POW10.length; ++i)
+                POW10[i] = POW10[i - 1] * 10;
+        }
+
+        private final String file;
+        private final boolean quiet;
+        private final EdgeVisitor visitor;
+        private final LongEdgeVisitor longVisitor;
+        private final DoubleEdgeVisitor doubleVisitor;
+        private MSTSink echo;
+
+        private long value;          // number being read, without its decimal point
+        private boolean negative;
+        private boolean inNumber;
+        private int fraction = -1;   // digits read after a decimal point, -1 before one
+
+        private int field;           // 0 = u, 1 = v, 2 = wgt; header uses 0 and 1
+        private boolean inHeader = true;
+        private int V, u, v;
+        private long E, e;
+
+        Parser(String _file, boolean _quiet, EdgeVisitor _visitor, LongEdgeVisitor _longVisitor, DoubleEdgeVisitor _doubleVisitor)
+        {
+            file = _file;
+            quiet = _quiet;
+            visitor = _visitor;
+            longVisitor = _longVisitor;
+            doubleVisitor = _doubleVisitor;
+        }
+
+        boolean done()
+        {
+            return !inHeader && e == E;
+        }
+
+        void feed(MappedByteBuffer buf, int len) throws IOException
+        {
+            for(int i = 0; i < len && !done(); ++i)
+            {
+                byte b = buf.get(i);
+
+                if (b >= '0' && b <= '9')
+                {
+                    if (value > (Long.MAX_VALUE - (b - '0')) / 10)
+                        throw new IOException(file + ": number too large on edge " + (e + 1));
+                    value = value * 10 + (b - '0');
+                    inNumber = true;
+                    if (fraction >= 0)
+                        ++fraction;
+                }
+                else if (b == '-' && !inNumber && !negative)
+                    negative = true;
+                // only a double weight can have a decimal point
+                else if (b == '.' && doubleVisitor != null && !inHeader && field == 2 && fraction < 0)
+                    fraction = 0;
+                else if (b == ' ' || b == '\t' || b == '\r' || b == '\n')
+                {
+                    if (inNumber)
+                        token();
+                    else if (negative || fraction >= 0)
+                        throw new IOException(file + ": stray '" + (negative ? '-' : '.') + "' on edge " + (e + 1));
+                }
+                else
+                    throw new IOException(file + ": unexpected character '" + (char) b + "' on edge " + (e + 1));
+            }
+        }
+
+        void finish() throws IOException
+        {
+            if (inNumber)
+                token();
+            if (inHeader)
+                throw new IOException(file + ": missing \"V E\" header");
+            if (e != E)
+                throw new IOException(file + ": expected " + E + " edges but found " + e);
+        }
+
+        public void close() throws IOException
+        {
+            if (echo != null)
+            {
+                MSTSink out = echo;
+                echo = null;
+                out.close();
+            }
+        }
+
+        private void token() throws IOException
+        {
+            long n = negative ? -value : value;
+            int digits = fraction;
+            value = 0;
+            negative = false;
+            inNumber = false;
+            fraction = -1;
+
+            // only the edge count in the header and long or double weights may go beyond int
+            if ((n > Integer.MAX_VALUE || n < Integer.MIN_VALUE) && !(inHeader && field == 1)
+                && !(!inHeader && field == 2 && visitor == null))
+                throw new IOException(file + ": number too large on edge " + (e + 1));
+
+            if (inHeader)
+            {
+                if (field == 0)
+                {
+                    V = (int) n;
+                    field = 1;
+                    return;
+                }
+                E = n;
+                field = 0;
+                inHeader = false;
+                if (V < 0 || E < 0)
+                    throw new IOException(file + ": bad header " + V + " " + E);
+
+                if (!quiet)
+                {
+                    echo = MSTSinks.console();
+                    echo.note("Parts[] = " + V + " " + E);
+                    echo.note("Reading edges from text file");
+                }
+                if (visitor != null)
+                    visitor.header(V, E);
+                else if (longVisitor != null)
+                    longVisitor.header(V, E);
+                else
+                    doubleVisitor.header(V, E);
+                return;
+            }
+
+            if (field == 0)
+            {
+                u = (int) n;
+                field = 1;
+            }
+            else if (field == 1)
+            {
+                v = (int) n;
+                field = 2;
+            }
+            else
+            {
+                field = 0;
+                ++e;
+                if (u < 1 || u > V || v < 1 || v > V)
+                    throw new IOException(file + ": vertex out of range on edge " + e);
+
+                if (doubleVisitor != null)
+                {
+                    double w = toDouble(n, digits);
+                    if (echo != null)
+                        echo.note("Edge " + MSTSinks.label(V, u) + "--(" + w + ")--" + MSTSinks.label(V, v));
+                    doubleVisitor.edge(u, v, w);
+                    return;
+                }
+                if (echo != null)
+                    echo.note("Edge " + MSTSinks.label(V, u) + "--(" + n + ")--" + MSTSinks.label(V, v));
+                if (visitor != null)
+                    visitor.edge(u, v, (int) n);
+                else
+                    longVisitor.edge(u, v, n);
+            }
+        }
+
+        // n / 10^digits, correctly rounded. Both are exact doubles for up to 15
+        // or so significant digits, and one division of exact values rounds once.
+        private static double toDouble(long n, int digits)
+        {
+            if (digits <= 0)
+                return n;
+            if (Math.abs(n) < (1L << 53) && digits < POW10.length)
+                return n / POW10[digits];
+            return Double.parseDouble(n + "E-" + digits);
+        }
+    }
+}
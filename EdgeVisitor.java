@@ -0,0 +1,9 @@
+// Receives the header and then each edge, in file order, as it is parsed
+
+import java.io.*;
+
+interface EdgeVisitor
+{
+    void header(int V, long E) throws IOException;
+    void edge(int u, int v, int wgt) throws IOException;
+}
@@ -0,0 +1,524 @@
+// Compact binary graph format and converter from the text "V E" / "u v w" format
+//
+// Layout, all values little endian:
+//    bytes  0..3   magic "MSTG"
+//    bytes  4..7   format version
+//    bytes  8..11  V
+//    byte   12     weight type, WEIGHT_INT32 is the only one so far
+//    byte   13     payload layout, LAYOUT_EDGES or LAYOUT_CSR
+//    bytes 14..15  reserved, 0
+//    bytes 16..23  E
+//    bytes 24..31  CRC32 of the payload
+// then the payload
+//    LAYOUT_EDGES: int u[E], int v[E], int wgt[E]
+//    LAYOUT_CSR:   int offsets[V+2], int targets[2E], int weights[2E]
+//
+// Usage: java GraphBinary [-csr] graph.txt graph.bin
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+class GraphBinary
+{
+    public static final int VERSION = 1;
+    public static final byte WEIGHT_INT32 = 0;
+    public static final byte LAYOUT_EDGES = 0;
+    public static final byte LAYOUT_CSR = 1;
+
+    private static final byte[] MAGIC = { 'M', 'S', 'T', 'G' };
+    private static final int HEADER_SIZE = 32;
+    private static final int CHUNK = 1 << 20;   // bytes moved per read or write
+    private static final long CHUNK_MAP = 1L << 30;
+
+    // mapCSR checks the payload's checksum, which reads every mapped page once.
+    // -noverify (or -Dmst.noverify=true) turns that off, so a CSR file is
+    // mapped without being read; the offsets are still range checked.
+    public static volatile boolean verifyMapped = !Boolean.getBoolean("mst.noverify");
+
+    // header fields of a binary graph file
+    private static class Header
+    {
+        int V;
+        long E;
+        byte layout;
+        long checksum;
+    }
+
+
+    // true when the file starts with the binary format's magic number
+    public static boolean isBinary(String file) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ))
+        {
+            ByteBuffer b = ByteBuffer.allocate(MAGIC.length);
+            while(b.hasRemaining() && ch.read(b) > 0)
+                ;
+            if (b.hasRemaining())
+                return false;
+            for(int i = 0; i < MAGIC.length; ++i)
+                if (b.get(i) != MAGIC[i])
+                    return false;
+            return true;
+        }
+    }
+
+
+    // true for a binary graph file holding CSR arrays
+    public static boolean isCSR(String file) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ))
+        {
+            return readHeader(ch, file).layout == LAYOUT_CSR;
+        }
+    }
+
+
+    public static void writeEdges(String file, EdgeList el) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            CRC32 crc = new CRC32();
+            ch.position(HEADER_SIZE);
+            writeInts(ch, el.u, crc);
+            writeInts(ch, el.v, crc);
+            writeInts(ch, el.wgt, crc);
+            writeHeader(ch, el.V, el.E, LAYOUT_EDGES, crc.getValue());
+        }
+    }
+
+
+    public static void writeCSR(String file, CSRArrays csr) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            CRC32 crc = new CRC32();
+            ch.position(HEADER_SIZE);
+            writeInts(ch, csr.offsets, crc);
+            writeInts(ch, csr.targets, crc);
+            writeInts(ch, csr.weights, crc);
+            writeHeader(ch, csr.V, csr.E, LAYOUT_CSR, crc.getValue());
+        }
+    }
+
+
+    // Reads the edges back whichever layout the file was written in
+    public static EdgeList readEdges(String file) throws IOException
+    {
+        MSTPhaseEvent phase = MSTMetrics.begin("load", "binary");
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ))
+        {
+            Header h = readHeader(ch, file);
+            if (h.layout == LAYOUT_CSR)
+                return readCSRPayload(ch, file, h).toEdgeList();
+
+            EdgeList el = new EdgeList(h.V, (int) h.E);
+            CRC32 crc = new CRC32();
+            readInts(ch, el.u, crc);
+            readInts(ch, el.v, crc);
+            readInts(ch, el.wgt, crc);
+            verify(file, h, crc);
+            return el;
+        }
+        finally
+        {
+            MSTMetrics.end(phase);
+        }
+    }
+
+
+    // Reads CSR arrays, building them when the file holds a plain edge list
+    public static CSRArrays readCSR(String file) throws IOException
+    {
+        MSTPhaseEvent phase = MSTMetrics.begin("load", "binary");
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ))
+        {
+            Header h = readHeader(ch, file);
+            if (h.layout == LAYOUT_CSR)
+                return readCSRPayload(ch, file, h);
+        }
+        finally
+        {
+            MSTMetrics.end(phase);
+        }
+        return CSRArrays.build(readEdges(file));
+    }
+
+
+    // Streams every edge to the visitor, a chunk at a time, without holding the edge arrays.
+    // A CSR file gives each edge once, from its lower numbered end.
+    // The columns are read side by side, each with a checksum of its own, and
+    // the checksums are joined in file order to be checked at the end; vertex
+    // numbers are range checked as they go by, so a bad file never reaches
+    // the visitor as a vertex outside 1..V.
+    public static void scanEdges(String file, EdgeVisitor visitor) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ))
+        {
+            Header h = readHeader(ch, file);
+            visitor.header(h.V, h.E);
+
+            if (h.layout == LAYOUT_EDGES)
+            {
+                IntColumn us = new IntColumn(ch, HEADER_SIZE, h.E);
+                IntColumn vs = new IntColumn(ch, HEADER_SIZE + 4 * h.E, h.E);
+                IntColumn ws = new IntColumn(ch, HEADER_SIZE + 8 * h.E, h.E);
+                int u, v;
+                for(long e = 0; e < h.E; ++e)
+                {
+                    u = us.next();
+                    v = vs.next();
+                    if (u < 1 || u > h.V || v < 1 || v > h.V)
+                        throw new IOException(file + ": vertex out of range on edge " + (e + 1));
+                    visitor.edge(u, v, ws.next());
+                }
+                long crc = crc32Combine(us.crc.getValue(), vs.crc.getValue(), 4 * h.E);
+                verify(file, h, crc32Combine(crc, ws.crc.getValue(), 4 * h.E));
+                return;
+            }
+
+            // CSR: offsets are small enough to hold, targets and weights are streamed side by side
+            int[] offsets = new int[h.V + 2];
+            CRC32 offCrc = new CRC32();
+            ch.position(HEADER_SIZE);
+            readInts(ch, offsets, offCrc);
+            checkOffsets(file, h, offsets);
+
+            long targetsAt = HEADER_SIZE + 4L * (h.V + 2);
+            IntColumn ts = new IntColumn(ch, targetsAt, 2 * h.E);
+            IntColumn ws = new IntColumn(ch, targetsAt + 8 * h.E, 2 * h.E);
+            boolean selfSeen;
+            int t, w;
+
+            for(int v = 1; v <= h.V; ++v)
+            {
+                selfSeen = false;
+                for(int i = offsets[v]; i < offsets[v + 1]; ++i)
+                {
+                    t = ts.next();
+                    w = ws.next();
+                    if (t < 1 || t > h.V)
+                        throw new IOException(file + ": vertex out of range in the adjacency of " + v);
+                    if (t < v)
+                        continue;
+                    if (t == v)
+                    {
+                        selfSeen = !selfSeen;
+                        if (!selfSeen)
+                            continue;
+                    }
+                    visitor.edge(v, t, w);
+                }
+            }
+            long crc = crc32Combine(offCrc.getValue(), ts.crc.getValue(), 8 * h.E);
+            verify(file, h, crc32Combine(crc, ws.crc.getValue(), 8 * h.E));
+        }
+    }
+
+
+    // Maps the CSR arrays of a LAYOUT_CSR file in place, so the adjacency is read
+    // straight from the page cache and never copied onto the Java heap.
+    // Only the V+2 offsets are read into memory, and checked, so no vertex's
+    // range can reach outside the mapped arrays. The checksum of the mapped
+    // bytes is checked too unless verifyMapped is off; without it a corrupt
+    // target or weight is only found when it is used.
+    public static OffHeapCSR mapCSR(String file) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.READ))
+        {
+            Header h = readHeader(ch, file);
+            if (h.layout != LAYOUT_CSR)
+                throw new IOException(file + ": holds an edge list, not CSR arrays");
+
+            int[] offsets = new int[h.V + 2];
+            CRC32 crc = new CRC32();
+            readInts(ch, offsets, crc);
+            checkOffsets(file, h, offsets);
+
+            long targetsAt = HEADER_SIZE + 4L * (h.V + 2);
+            long payloadEnd = targetsAt + 16 * h.E;
+            if (ch.size() < payloadEnd)
+                throw new IOException(file + ": truncated, the CSR arrays need " + payloadEnd + " bytes");
+
+            // the checksum runs over the mapped bytes, nothing is copied
+            if (verifyMapped)
+            {
+                for(long pos = targetsAt; pos < payloadEnd; pos += CHUNK_MAP)
+                    crc.update(ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(CHUNK_MAP, payloadEnd - pos)));
+                verify(file, h, crc);
+            }
+
+            long[] offs = new long[h.V + 2];
+            for(int v = 0; v < offs.length; ++v)
+                offs[v] = offsets[v];
+
+            return new OffHeapCSR(h.V, h.E, offs,
+                                  OffHeapIntArray.mapReadOnly(ch, targetsAt, 2 * h.E),
+                                  OffHeapIntArray.mapReadOnly(ch, targetsAt + 8 * h.E, 2 * h.E));
+        }
+    }
+
+
+    // Reads one int column of the payload in order, a chunk at a time,
+    // keeping the checksum of the bytes read
+    private static class IntColumn
+    {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        private final long end;
+        private long pos;
+        final CRC32 crc = new CRC32();
+
+        IntColumn(FileChannel _ch, long _pos, long count)
+        {
+            ch = _ch;
+            pos = _pos;
+            end = _pos + 4 * count;
+            buf.limit(0);
+        }
+
+        int next() throws IOException
+        {
+            if (!buf.hasRemaining())
+            {
+                if (pos == end)
+                    throw new IOException("binary graph file column read past its end");
+                buf.clear();
+                buf.limit((int) Math.min(CHUNK, end - pos));
+                // refill, stopping on a whole number of ints
+                do
+                {
+                    int n = ch.read(buf, pos);
+                    if (n < 0)
+                        throw new IOException("binary graph file is truncated");
+                    pos += n;
+                }
+                while(buf.position() == 0 || (buf.position() & 3) != 0);
+                buf.flip();
+                crc.update(buf);
+                buf.rewind();
+            }
+            return buf.getInt();
+        }
+    }
+
+
+    private static CSRArrays readCSRPayload(FileChannel ch, String file, Header h) throws IOException
+    {
+        int E = (int) h.E;
+        int[] offsets = new int[h.V + 2];
+        int[] targets = new int[2 * E];
+        int[] weights = new int[2 * E];
+        CRC32 crc = new CRC32();
+
+        readInts(ch, offsets, crc);
+        readInts(ch, targets, crc);
+        readInts(ch, weights, crc);
+        verify(file, h, crc);
+        checkOffsets(file, h, offsets);
+        return new CSRArrays(h.V, E, offsets, targets, weights);
+    }
+
+
+    // CSR offsets must start at 0, never go down and end at the 2E entries
+    private static void checkOffsets(String file, Header h, int[] offsets) throws IOException
+    {
+        for(int v = 1; v <= h.V; ++v)
+            if (offsets[v] > offsets[v + 1])
+                throw new IOException(file + ": CSR offsets are not in order at vertex " + v);
+        if (offsets[0] != 0 || offsets[1] != 0 || offsets[h.V + 1] != 2 * h.E)
+            throw new IOException(file + ": CSR offsets do not cover the " + 2 * h.E + " entries");
+    }
+
+
+    private static void writeHeader(FileChannel ch, int V, long E, byte layout, long checksum) throws IOException
+    {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        b.put(MAGIC);
+        b.putInt(VERSION);
+        b.putInt(V);
+        b.put(WEIGHT_INT32);
+        b.put(layout);
+        b.putShort((short) 0);
+        b.putLong(E);
+        b.putLong(checksum);
+        b.flip();
+
+        ch.position(0);
+        while(b.hasRemaining())
+            ch.write(b);
+    }
+
+
+    private static Header readHeader(FileChannel ch, String file) throws IOException
+    {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while(b.hasRemaining())
+            if (ch.read(b) < 0)
+                throw new IOException(file + ": truncated header");
+        b.flip();
+
+        for(int i = 0; i < MAGIC.length; ++i)
+            if (b.get() != MAGIC[i])
+                throw new IOException(file + ": not a binary graph file");
+
+        int version = b.getInt();
+        if (version != VERSION)
+            throw new IOException(file + ": unsupported format version " + version);
+
+        Header h = new Header();
+        h.V = b.getInt();
+        byte weightType = b.get();
+        h.layout = b.get();
+        b.getShort();
+        h.E = b.getLong();
+        h.checksum = b.getLong();
+
+        if (weightType != WEIGHT_INT32)
+            throw new IOException(file + ": unsupported weight type " + weightType);
+        if (h.layout != LAYOUT_EDGES && h.layout != LAYOUT_CSR)
+            throw new IOException(file + ": unknown layout " + h.layout);
+        if (h.V < 0 || h.E < 0 || h.E > Integer.MAX_VALUE / 2)
+            throw new IOException(file + ": bad header " + h.V + " " + h.E);
+        return h;
+    }
+
+
+    private static void verify(String file, Header h, CRC32 crc) throws IOException
+    {
+        verify(file, h, crc.getValue());
+    }
+
+    private static void verify(String file, Header h, long crc) throws IOException
+    {
+        if (crc != h.checksum)
+            throw new IOException(file + ": checksum mismatch, file is corrupt");
+    }
+
+
+    // The CRC32 of A followed by B from the CRC32s of A and of B and the
+    // length of B in bytes, as zlib's crc32_combine: the CRC of A is run
+    // through len2 zero bytes by squaring the GF(2) matrix of one zero bit
+    static long crc32Combine(long crc1, long crc2, long len2)
+    {
+        long[] even = new long[32];
+        long[] odd = new long[32];
+        long row = 1;
+
+        if (len2 <= 0)
+            return crc1;
+
+        odd[0] = 0xedb88320L;        // the CRC-32 polynomial, reflected
+        for(int n = 1; n < 32; ++n)
+        {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2Square(even, odd);        // two zero bits
+        gf2Square(odd, even);        // four zero bits
+
+        // one zero byte is eight bits, squared again for each bit of len2
+        do
+        {
+            gf2Square(even, odd);
+            if ((len2 & 1) != 0)
+                crc1 = gf2Times(even, crc1);
+            len2 >>= 1;
+            if (len2 == 0)
+                break;
+            gf2Square(odd, even);
+            if ((len2 & 1) != 0)
+                crc1 = gf2Times(odd, crc1);
+            len2 >>= 1;
+        } while(len2 != 0);
+
+        return crc1 ^ crc2;
+    }
+
+    private static long gf2Times(long[] mat, long vec)
+    {
+        long sum = 0;
+        for(int i = 0; vec != 0; ++i, vec >>>= 1)
+            if ((vec & 1) != 0)
+                sum ^= mat[i];
+        return sum;
+    }
+
+    private static void gf2Square(long[] square, long[] mat)
+    {
+        for(int n = 0; n < 32; ++n)
+            square[n] = gf2Times(mat, mat[n]);
+    }
+
+
+    // Bulk copy of an int array out through a direct buffer, updating the checksum as it goes
+    private static void writeInts(FileChannel ch, int[] a, CRC32 crc) throws IOException
+    {
+        ByteBuffer b = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        int done = 0, n;
+
+        while(done < a.length)
+        {
+            n = Math.min(CHUNK / 4, a.length - done);
+            b.clear();
+            b.asIntBuffer().put(a, done, n);
+            b.limit(n * 4);
+
+            crc.update(b);
+            b.flip();
+            while(b.hasRemaining())
+                ch.write(b);
+            done += n;
+        }
+    }
+
+
+    // Bulk copy of the next a.length ints of the file into a, updating the checksum as it goes
+    private static void readInts(FileChannel ch, int[] a, CRC32 crc) throws IOException
+    {
+        ByteBuffer b = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        int done = 0, n;
+
+        while(done < a.length)
+        {
+            n = Math.min(CHUNK / 4, a.length - done);
+            b.clear();
+            b.limit(n * 4);
+            while(b.hasRemaining())
+                if (ch.read(b) < 0)
+                    throw new IOException("binary graph file is truncated");
+            b.flip();
+
+            b.asIntBuffer().get(a, done, n);
+            crc.update(b);
+            done += n;
+        }
+    }
+
+
+    public static void main(String[] args) throws IOException
+    {
+        boolean csr = args.length == 3 && args[0].equals("-csr");
+        int first = csr ? 1 : 0;
+
+        if (args.length - first != 2)
+        {
+            System.out.println("Usage: java GraphBinary [-csr] graph.txt graph.bin");
+            return;
+        }
+
+        EdgeList el = EdgeListLoader.load(args[first], true);
+        if (csr)
+            writeCSR(args[first + 1], CSRArrays.build(el));
+        else
+            writeEdges(args[first + 1], el);
+
+        System.out.println("Wrote " + el.V + " vertices and " + el.E + " edges to " + args[first + 1]);
+    }
+}
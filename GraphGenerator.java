@@ -0,0 +1,469 @@
+// Synthetic graph generators, writing the "V E" / "u v w" text format
+//
+//     java GraphGenerator er V E [options] out.txt         Erdos-Renyi G(V, E), E random pairs
+//     java GraphGenerator grid ROWS COLS [options] out.txt  2D grid, road-like
+//     java GraphGenerator rmat SCALE E [options] out.txt    R-MAT power law, V = 2^SCALE
+//     java GraphGenerator complete V [options] out.txt      every pair once
+//
+//     options:  -seed S       default 1
+//               -weights A B  weights drawn uniformly from A..B, default 1..1000
+//               -threads N    default all cores
+//
+// The edges are numbered 0..E-1 and cut into blocks of BLOCK edges. Every
+// block is generated from its own random stream, seeded from the seed and
+// the block number only, so the output is the same for a seed whatever the
+// number of threads. Blocks are made in parallel and written in order, with
+// only a few per thread held at a time, so graphs of billions of edges
+// stream straight to the file. An out.txt of "-" writes to standard output.
+//
+// generate streams the same edges to an EdgeVisitor instead, so a graph can
+// be fed to the loaders' consumers without a file at all.
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+abstract class GraphGenerator
+{
+    // edges per block
+    static final int BLOCK = 1 << 16;
+
+    protected final int V;
+    protected final long E;
+    protected long seed = 1;
+    protected int minWgt = 1, maxWgt = 1000;
+
+    protected GraphGenerator(int _V, long _E)
+    {
+        if (_V < 1 || _E < 0)
+            throw new IllegalArgumentException("Bad graph size " + _V + " vertices " + _E + " edges");
+        V = _V;
+        E = _E;
+    }
+
+    public static GraphGenerator erdosRenyi(int V, long E)
+    {
+        return new ErdosRenyi(V, E);
+    }
+
+    public static GraphGenerator grid(int rows, int cols)
+    {
+        return new Grid(rows, cols);
+    }
+
+    public static GraphGenerator rmat(int scale, long E)
+    {
+        return new RMat(scale, E);
+    }
+
+    public static GraphGenerator complete(int V)
+    {
+        return new Complete(V);
+    }
+
+    public GraphGenerator withSeed(long _seed)
+    {
+        seed = _seed;
+        return this;
+    }
+
+    public GraphGenerator withWeights(int lo, int hi)
+    {
+        if (lo > hi)
+            throw new IllegalArgumentException("Bad weight range " + lo + ".." + hi);
+        minWgt = lo;
+        maxWgt = hi;
+        return this;
+    }
+
+    public int vertices()
+    {
+        return V;
+    }
+
+    public long edges()
+    {
+        return E;
+    }
+
+    // Puts edges from..to-1 into u, v and wgt, starting at index 0, drawing from r
+    protected abstract void block(long from, long to, SplittableRandom r, int[] u, int[] v, int[] wgt);
+
+    protected int weight(SplittableRandom r)
+    {
+        return (int) (minWgt + r.nextLong((long) maxWgt - minWgt + 1));
+    }
+
+
+    /*****  streaming  *****/
+
+    // The edges of block b, held as three arrays
+    private int[][] makeBlock(long b)
+    {
+        long from = b * BLOCK;
+        int n = (int) Math.min(BLOCK, E - from);
+        int[][] out = new int[3][n];
+        block(from, from + n, new SplittableRandom(mix(seed + b * 0xD1B54A32D192ED03L)), out[0], out[1], out[2]);
+        return out;
+    }
+
+    // Streams the header and every edge, in order, to the visitor
+    public void generate(EdgeVisitor visitor, int threads) throws IOException
+    {
+        visitor.header(V, E);
+        inOrder(threads, b -> makeBlock(b), blk -> {
+            for(int i = 0; i < blk[0].length; ++i)
+                visitor.edge(blk[0][i], blk[1][i], blk[2][i]);
+        });
+    }
+
+    // Writes the graph as text, each block formatted on the thread that made it
+    public void write(OutputStream os, int threads) throws IOException
+    {
+        final OutputStream out = new BufferedOutputStream(os, 1 << 20);
+        byte[] header = (V + " " + E + "\n").getBytes("US-ASCII");
+        out.write(header);
+
+        inOrder(threads, b -> {
+            int[][] blk = makeBlock(b);
+            TextBlock t = new TextBlock(blk[0].length);
+            for(int i = 0; i < blk[0].length; ++i)
+                t.line(blk[0][i], blk[1][i], blk[2][i]);
+            return t;
+        }, t -> out.write(t.bytes, 0, t.length));
+        out.flush();
+    }
+
+    public void write(String file, int threads) throws IOException
+    {
+        if (file.equals("-"))
+        {
+            write(System.out, threads);
+            return;
+        }
+        try (OutputStream os = new FileOutputStream(file))
+        {
+            write(os, threads);
+        }
+    }
+
+    interface BlockMaker<T>
+    {
+        T make(long b) throws IOException;
+    }
+
+    interface BlockUser<T>
+    {
+        void use(T block) throws IOException;
+    }
+
+    // Makes every block on a pool of threads and hands them to user in block order,
+    // with at most 2 * threads blocks made but not yet used
+    private <T> void inOrder(int threads, BlockMaker<T> maker, BlockUser<T> user) throws IOException
+    {
+        long blocks = (E + BLOCK - 1) / BLOCK;
+        int window = 2 * threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<T>> pending = new ArrayDeque<Future<T>>();
+        long next = 0;
+
+        try
+        {
+            while(next < blocks || !pending.isEmpty())
+            {
+                while(next < blocks && pending.size() < window)
+                {
+                    final long b = next++;
+                    pending.add(pool.submit(() -> maker.make(b)));
+                }
+                user.use(pending.poll().get());
+            }
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Graph generation interrupted");
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof IOException)
+                throw (IOException) ex.getCause();
+            throw new RuntimeException(ex.getCause());
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    // MurmurHash3 finalizer, so nearby block numbers get unrelated streams
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    // Edge lines formatted straight into bytes, no String per edge
+    private static class TextBlock
+    {
+        byte[] bytes;
+        int length;
+
+        TextBlock(int edges)
+        {
+            // two vertices and a weight of up to 11 characters each, 2 spaces and a newline
+            bytes = new byte[edges * 36];
+        }
+
+        void line(int u, int v, int w)
+        {
+            number(u);
+            bytes[length++] = ' ';
+            number(v);
+            bytes[length++] = ' ';
+            number(w);
+            bytes[length++] = '\n';
+        }
+
+        private void number(int x)
+        {
+            long n = x;
+            if (n < 0)
+            {
+                bytes[length++] = '-';
+                n = -n;
+            }
+            int start = length;
+            do
+            {
+                bytes[length++] = (byte) ('0' + n % 10);
+                n /= 10;
+            } while(n > 0);
+
+            // digits went in backwards
+            for(int i = start, j = length - 1; i < j; ++i, --j)
+            {
+                byte t = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = t;
+            }
+        }
+    }
+
+
+    /*****  the generators  *****/
+
+    // E edges between uniformly random pairs of different vertices
+    private static class ErdosRenyi extends GraphGenerator
+    {
+        ErdosRenyi(int V, long E)
+        {
+            super(V, E);
+            if (V < 2 && E > 0)
+                throw new IllegalArgumentException("Erdos-Renyi edges need two vertices");
+        }
+
+        protected void block(long from, long to, SplittableRandom r, int[] u, int[] v, int[] wgt)
+        {
+            for(int i = 0; i < to - from; ++i)
+            {
+                u[i] = 1 + r.nextInt(V);
+                do
+                    v[i] = 1 + r.nextInt(V);
+                while(v[i] == u[i]);
+                wgt[i] = weight(r);
+            }
+        }
+    }
+
+    // rows x cols vertices, each joined to the next along its row and down its column,
+    // like a street map; vertex (r, c) is r * cols + c + 1
+    private static class Grid extends GraphGenerator
+    {
+        private final int cols;
+        private final long across;
+
+        Grid(int rows, int _cols)
+        {
+            super(checkedProduct(rows, _cols), (long) rows * (_cols - 1) + (long) (rows - 1) * _cols);
+            cols = _cols;
+            across = (long) rows * (cols - 1);
+        }
+
+        private static int checkedProduct(int rows, int cols)
+        {
+            if (rows < 1 || cols < 1 || (long) rows * cols > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Bad grid " + rows + " x " + cols);
+            return rows * cols;
+        }
+
+        protected void block(long from, long to, SplittableRandom r, int[] u, int[] v, int[] wgt)
+        {
+            for(int i = 0; i < to - from; ++i)
+            {
+                long e = from + i;
+                if (e < across)
+                {
+                    // along row e / (cols-1)
+                    long row = e / (cols - 1), col = e % (cols - 1);
+                    u[i] = (int) (row * cols + col + 1);
+                    v[i] = u[i] + 1;
+                }
+                else
+                {
+                    // down from vertex e - across
+                    u[i] = (int) (e - across + 1);
+                    v[i] = u[i] + cols;
+                }
+                wgt[i] = weight(r);
+            }
+        }
+    }
+
+    // Recursive matrix model (Chakrabarti, Zhan and Faloutsos): each edge picks one
+    // quadrant of the adjacency matrix per level with probabilities a, b, c and
+    // 1 - a - b - c, giving the skewed degrees of real networks. Self loops are drawn again.
+    private static class RMat extends GraphGenerator
+    {
+        private static final double A = 0.57, B = 0.19, C = 0.19;
+        private final int scale;
+
+        RMat(int _scale, long E)
+        {
+            super(checkedScale(_scale), E);
+            scale = _scale;
+        }
+
+        private static int checkedScale(int scale)
+        {
+            if (scale < 1 || scale > 30)
+                throw new IllegalArgumentException("R-MAT scale must be 1..30, not " + scale);
+            return 1 << scale;
+        }
+
+        protected void block(long from, long to, SplittableRandom r, int[] u, int[] v, int[] wgt)
+        {
+            int x, y, bit;
+            double p;
+
+            for(int i = 0; i < to - from; ++i)
+            {
+                do
+                {
+                    x = 0;
+                    y = 0;
+                    for(bit = 0; bit < scale; ++bit)
+                    {
+                        p = r.nextDouble();
+                        if (p >= A + B + C)
+                        {
+                            x |= 1 << bit;
+                            y |= 1 << bit;
+                        }
+                        else if (p >= A + B)
+                            x |= 1 << bit;
+                        else if (p >= A)
+                            y |= 1 << bit;
+                    }
+                } while(x == y);
+
+                u[i] = x + 1;
+                v[i] = y + 1;
+                wgt[i] = weight(r);
+            }
+        }
+    }
+
+    // Every pair u < v once, in order of u then v
+    private static class Complete extends GraphGenerator
+    {
+        Complete(int V)
+        {
+            super(V, (long) V * (V - 1) / 2);
+        }
+
+        // index of the first edge out of u, the edges before it being those of 1..u-1
+        private long first(long u)
+        {
+            return (u - 1) * V - (u - 1) * u / 2;
+        }
+
+        protected void block(long from, long to, SplittableRandom r, int[] u, int[] v, int[] wgt)
+        {
+            // find the u that edge from leaves, then walk on from there
+            long lo = 1, hi = V - 1, mid;
+            while(lo < hi)
+            {
+                mid = (lo + hi + 1) >>> 1;
+                if (first(mid) <= from)
+                    lo = mid;
+                else
+                    hi = mid - 1;
+            }
+            int x = (int) lo;
+            int y = (int) (x + 1 + from - first(x));
+
+            for(int i = 0; i < to - from; ++i)
+            {
+                u[i] = x;
+                v[i] = y;
+                wgt[i] = weight(r);
+                if (++y > V)
+                {
+                    ++x;
+                    y = x + 1;
+                }
+            }
+        }
+    }
+
+
+    public static void main(String[] args) throws IOException
+    {
+        long seed = 1;
+        int lo = 1, hi = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        ArrayList<String> rest = new ArrayList<String>();
+
+        for(int i = 0; i < args.length; ++i)
+        {
+            if (args[i].equals("-seed"))
+                seed = Long.parseLong(args[++i]);
+            else if (args[i].equals("-weights"))
+            {
+                lo = Integer.parseInt(args[++i]);
+                hi = Integer.parseInt(args[++i]);
+            }
+            else if (args[i].equals("-threads"))
+                threads = Integer.parseInt(args[++i]);
+            else
+                rest.add(args[i]);
+        }
+
+        GraphGenerator g = null;
+        String type = rest.isEmpty() ? "" : rest.get(0);
+        if (type.equals("er") && rest.size() == 4)
+            g = erdosRenyi(Integer.parseInt(rest.get(1)), Long.parseLong(rest.get(2)));
+        else if (type.equals("grid") && rest.size() == 4)
+            g = grid(Integer.parseInt(rest.get(1)), Integer.parseInt(rest.get(2)));
+        else if (type.equals("rmat") && rest.size() == 4)
+            g = rmat(Integer.parseInt(rest.get(1)), Long.parseLong(rest.get(2)));
+        else if (type.equals("complete") && rest.size() == 3)
+            g = complete(Integer.parseInt(rest.get(1)));
+
+        if (g == null)
+        {
+            System.err.println("Usage: java GraphGenerator er V E | grid ROWS COLS | rmat SCALE E | complete V");
+            System.err.println("       [-seed S] [-weights A B] [-threads N] out.txt");
+            System.exit(1);
+        }
+
+        g.withSeed(seed).withWeights(lo, hi).write(rest.get(rest.size() - 1), threads);
+    }
+}
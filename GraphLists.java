@@ -2,8 +2,13 @@
 // Uses an Adjacency Linked Lists, suitable for sparse graphs
 
 import java.io.*;
+import java.util.Arrays;
+import mst.EdgeCursor;
+import mst.NeighbourCursor;
+import mst.ParallelBFS;
+import mst.WeightedGraph;
 
-class GraphLists {
+class GraphLists implements WeightedGraph {
     class Node {
         public int vert;
         public int wgt;
@@ -17,28 +22,33 @@ class GraphLists {
     private Node[] adj;
     private Node z;
     
-    // used for traversing graph
+    // used for traversing graph: visited[v] is the order in which v was
+    // reached, 0 when it was not, and order[0..id) the vertices in that order.
+    // The arrays are made on the first traversal and reused by every later
+    // one, so a traversal allocates nothing and never recurses.
     private int[] visited;
     private int id;
+    private int[] order, from, stack;
+    private Node[] cursor;
     
     
     // default constructor
     public GraphLists(String graphFile)  throws IOException
+    {
+        this(graphFile, false);
+    }
+
+    // quiet suppresses the echo of the header and every edge while loading
+    public GraphLists(String graphFile, boolean quiet)  throws IOException
     {
         int u, v;
         int e, wgt;
         Node t;
 
-        FileReader fr = new FileReader(graphFile);
-		BufferedReader reader = new BufferedReader(fr);
-	           
-        String splits = " +";  // multiple whitespace as delimiter
-		String line = reader.readLine();        
-        String[] parts = line.split(splits);
-        System.out.println("Parts[] = " + parts[0] + " " + parts[1]);
+        EdgeList el = EdgeListLoader.load(graphFile, quiet);
         
-        V = Integer.parseInt(parts[0]);
-        E = Integer.parseInt(parts[1]);
+        V = el.V;
+        E = el.E;
         
         // create sentinel node
         z = new Node(); 
@@ -46,51 +56,288 @@ class GraphLists {
         
         // create adjacency lists, initialised to sentinel node z
         visited = new int[V+1];
-        /* adj = new ...
+        adj = new Node[V+1];
         for(v = 1; v <= V; ++v)
            adj[v] = z;               
-        */
         
-        // read the edges
-        System.out.println("Reading edges from text file");
-        
-        // missing for loop here
+        // put each edge onto the front of both end points' lists
+        for(e = 0; e < E; ++e)
+        {
+            u = el.u[e];
+            v = el.v[e];
+            wgt = el.wgt[e];
+
+            t = new Node();
+            t.vert = v;
+            t.wgt = wgt;
+            t.next = adj[u];
+            adj[u] = t;
+
+            t = new Node();
+            t.vert = u;
+            t.wgt = wgt;
+            t.next = adj[v];
+            adj[v] = t;
+        }
     }
    
-    // convert vertex into char for pretty printing
-    private char toChar(int u)
-    {  
-        return (char)(u + 64);
-    }
-    
-    // method to display the graph representation
+    // method to display the graph representation, a list at a time through a buffered sink
     public void display() {
         int v;
         Node n;
-        
-        for(v=1; v<=V; ++v){
-            System.out.print("\nadj[" + toChar(v) + "] ->" );
-            for(n = adj[v]; n != z; n = n.next) 
-                System.out.print(" |" + toChar(n.vert) + " | " + n.wgt + "| ->");    
+        StringBuilder line = new StringBuilder();
+
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("");
+            for(v=1; v<=V; ++v){
+                line.setLength(0);
+                line.append("adj[").append(MSTSinks.label(V, v)).append("] ->");
+                for(n = adj[v]; n != z; n = n.next) 
+                    line.append(" |").append(MSTSinks.label(V, n.vert)).append(" | ").append(n.wgt).append("| ->");
+                out.note(line.toString());
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
         }
-        System.out.println("");
     }
 
 
-    // method to initialise Depth First Traversal of Graph
-    public void DF( int s) 
+    /*****  WeightedGraph, the linked list backend  *****/
+
+    public int vertexCount()
     {
-        id = 0;
-        
-        
+        return V;
     }
 
+    public long edgeCount()
+    {
+        return E;
+    }
 
-    // Recursive Depth First Traversal for adjacency matrix
+    // Walks v's list down to the sentinel
+    public NeighbourCursor neighbours()
+    {
+        return new NeighbourCursor() {
+            private Node n = z, at;
+
+            public void reset(int v)
+            {
+                n = adj[v];
+            }
+
+            public boolean next()
+            {
+                if (n == z)
+                    return false;
+                at = n;
+                n = n.next;
+                return true;
+            }
+
+            public int target()
+            {
+                return at.vert;
+            }
+
+            public int weight()
+            {
+                return at.wgt;
+            }
+        };
+    }
+
+    // Every edge from its lower numbered end. A self loop has two nodes on
+    // its vertex's list so only every second one is given.
+    public EdgeCursor edges()
+    {
+        return new EdgeCursor() {
+            private final NeighbourCursor c = neighbours();
+            private int v = 0;
+            private boolean selfSeen;
+
+            public boolean next()
+            {
+                while(true)
+                {
+                    while(c.next())
+                    {
+                        int t = c.target();
+                        if (t > v)
+                            return true;
+                        if (t == v && (selfSeen = !selfSeen) == false)
+                            return true;
+                    }
+                    if (v == V)
+                        return false;
+                    c.reset(++v);
+                    selfSeen = false;
+                }
+            }
+
+            public int u()
+            {
+                return v;
+            }
+
+            public int v()
+            {
+                return c.target();
+            }
+
+            public int weight()
+            {
+                return c.weight();
+            }
+        };
+    }
+
+
+    // Depth First Traversal of Graph from s, iterative so that long paths
+    // cannot overflow the call stack. stack[] holds the path from s and
+    // cursor[v] how far down v's list the search has got, so vertices are
+    // reached in the same order as by the recursive version.
+    // Returns the number of vertices reached.
+    public int DF( int s) 
+    {
+        int v, top = 0;
+        Node n;
+
+        startTraversal(s);
+        dfVisit(0, s);
+        stack[top++] = s;
+        while(top > 0)
+        {
+            v = stack[top - 1];
+            n = cursor[v];
+            while(n != z && visited[n.vert] != 0)
+                n = n.next;
+            if (n == z)
+            {
+                --top;
+                continue;
+            }
+            cursor[v] = n.next;
+            dfVisit(v, n.vert);
+            stack[top++] = n.vert;
+        }
+        showTraversal("Depth first");
+        return id;
+    }
+
+
+    // Records v as reached from prev along prev--v, prev is 0 for the start
     private void dfVisit( int prev, int v)
     {
-        
-      
+        visited[v] = ++id;
+        order[id - 1] = v;
+        from[v] = prev;
+        cursor[v] = adj[v];
+    }
+
+
+    // Breadth First Traversal of Graph from s, order[] doubling as the queue.
+    // Returns the number of vertices reached.
+    public int BF(int s)
+    {
+        breadthFirst(s);
+        showTraversal("Breadth first");
+        return id;
+    }
+
+    private void breadthFirst(int s)
+    {
+        int head = 0;
+        Node n;
+
+        startTraversal(s);
+        dfVisit(0, s);
+        while(head < id)
+            for(n = adj[order[head++]]; n != z; n = n.next)
+                if (visited[n.vert] == 0)
+                    dfVisit(order[head - 1], n.vert);
+    }
+
+    // Makes the traversal arrays the first time and clears visited[]
+    private void startTraversal(int s)
+    {
+        if (s < 1 || s > V)
+            throw new IllegalArgumentException("Start vertex " + s + " is not in the graph");
+        if (order == null)
+        {
+            order = new int[V];
+            from = new int[V+1];
+            stack = new int[V];
+            cursor = new Node[V+1];
+        }
+        Arrays.fill(visited, 0);
+        id = 0;
+    }
+
+    // Lists the vertices of the last traversal in the order they were reached
+    private void showTraversal(String kind)
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("\n" + kind + " traversal from " + MSTSinks.label(V, order[0]) + ":");
+            for(int i = 1; i < id; ++i)
+                out.note("Visited " + MSTSinks.label(V, order[i]) + " along "
+                         + MSTSinks.label(V, from[order[i]]) + "--" + MSTSinks.label(V, order[i]));
+            out.note(id + " of " + V + " vertices reached");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Labels the connected component of every vertex 1, 2, ... into
+    // comp[1..V], one breadth first pass from each unlabelled vertex, and
+    // returns the number of components
+    public int labelComponents(int[] comp)
+    {
+        int v, u, head, tail, count = 0;
+        Node n;
+
+        if (V == 0)
+            return 0;
+        startTraversal(1);
+        Arrays.fill(comp, 0);
+        for(v = 1; v <= V; ++v)
+        {
+            if (comp[v] != 0)
+                continue;
+            comp[v] = ++count;
+            head = tail = 0;
+            order[tail++] = v;
+            while(head < tail)
+            {
+                u = order[head++];
+                for(n = adj[u]; n != z; n = n.next)
+                    if (comp[n.vert] == 0)
+                    {
+                        comp[n.vert] = count;
+                        order[tail++] = n.vert;
+                    }
+            }
+        }
+        return count;
+    }
+
+    // A quick check before an MST run: Prim from one vertex and Kruskal
+    // only give a spanning tree when this is true
+    public boolean isConnected()
+    {
+        if (V == 0)
+            return true;
+        breadthFirst(1);
+        return id == V;
     }
 
 
@@ -102,8 +349,23 @@ class GraphLists {
         GraphLists g = new GraphLists(fname);
        
         //g.display();
-        
-        //g.DF(s);
+
+        // "df" or "bf" as the argument traverses the graph from s and "components"
+        // labels its components in parallel
+        if (args.length == 0)
+            return;
+        if (args[0].equals("df"))
+            g.DF(s);
+        else if (args[0].equals("bf"))
+            g.BF(s);
+        else if (args[0].equals("components"))
+        {
+            int[] comp = new int[g.V + 1];
+            int count = ParallelBFS.components(g, comp, Runtime.getRuntime().availableProcessors());
+            MSTSinks.progress("\nConnected components: " + count);
+        }
+        else
+            throw new IllegalArgumentException("Unknown argument " + args[0] + ", expected df, bf or components");
     }
 
 }
@@ -3,101 +3,604 @@
 // Converted from C# some of which has been commented out
 
 import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import mst.EdgeCursor;
+import mst.NeighbourCursor;
+import mst.WeightedGraph;
 
-class GraphMatrix 
+class GraphMatrix implements WeightedGraph 
 {
     // V = number of vertices
     // E = number of edges
-    // adj[ ][ ] is the adjacency matrix
+    // adj[] is the adjacency matrix, flattened row by row:
+    //    the weight of edge u--v is adj[u * (V+1) + v], NO_EDGE when there is none
+    static final int NO_EDGE = Integer.MAX_VALUE;
+
+    // dist[v] of a vertex already in Prim's tree
+    static final int IN_TREE = Integer.MIN_VALUE;
+
+    // DensePrimVector.primScan when the vector API can be used and the kernel
+    // was compiled from vector/, null otherwise. It is looked up by name so
+    // that this directory compiles without jdk.incubator.vector.
+    static final MethodHandle DENSE_VECTOR = findVectorKernel();
+
     private int V, E;
-    private int[][] adj;
+    private int[] adj;
+
+    // In off-heap mode the matrix is held here instead, with the same layout,
+    // and adj is null
+    private OffHeapIntArray offAdj;
+    private int[] mst;
+
+    // number of distinct edges left once parallel ones are merged, -1 until counted
+    private long cells = -1;
     
-    // used for traversing graph
+    // used for traversing graph: visited[v] is the order in which v was
+    // reached, 0 when it was not, and order[0..id) the vertices in that order.
+    // The arrays are made on the first traversal and reused by every later
+    // one, so a traversal allocates nothing and never recurses.
     private int[] visited;
     private int id;
+    private int[] order, from, stack, column;
    
     
     
     // default constructor
     public GraphMatrix(String graphFile)  throws IOException
+    {
+        this(graphFile, false);
+    }
+
+    // quiet suppresses the echo of the header and every edge while loading
+    public GraphMatrix(String graphFile, boolean quiet)  throws IOException
     {
         int u, v;
         int e, wgt;
 
-        // StreamReader reader = new StreamReader(graphFile);
-		FileReader fr = new FileReader(graphFile);
-		BufferedReader reader = new BufferedReader(fr);
-	   
-        // char[] splits = new char[] { ' ', ',', '\t'};     
-        // string line = reader.ReadLine();
-		// string[] parts = line.Split(splits, StringSplitOptions.RemoveEmptyEntries);
-        
-        String splits = " +";  // multiple whitespace as delimiter		   
-		String line = reader.readLine();       
-        String[] parts = line.split(splits);
-        System.out.println("Parts[] = " + parts[0] + " " + parts[1]);
+        EdgeList el = EdgeListLoader.load(graphFile, quiet);
 		
         // find out number of vertices and edges
-        //V = int.Parse(parts[0]);
-        //E = int.Parse(parts[1]);
-        
-		V = Integer.parseInt(parts[0]);
-        E = Integer.parseInt(parts[1]);
+		V = el.V;
+        E = el.E;
 
-        // create adjacency matrix, initialised to 0's
-        //adj = new int[V+1, V+1];
-        adj = new int[V+1][V+1];        
+        // create adjacency matrix, initialised to NO_EDGE so 0 weight edges survive
+        if ((long)(V+1) * (V+1) > Integer.MAX_VALUE - 8)
+            throw new IOException(graphFile + ": " + V + " vertices is too many for an adjacency matrix");
+        adj = new int[(V+1) * (V+1)];        
+        Arrays.fill(adj, NO_EDGE);
         
         visited = new int[V+1];
         
-       // read the edges
-        System.out.println("Reading edges from text file");
-        for(e = 1; e <= E; ++e)
-       {
-            line = reader.readLine();
-            parts = line.split(splits);
-            u = Integer.parseInt(parts[0]);
-            v = Integer.parseInt(parts[1]); 
-            wgt = Integer.parseInt(parts[2]);
+        // put each edge into the adjacency matrix, both ways round,
+        // keeping the lightest if the file lists an edge more than once
+        for(e = 0; e < E; ++e)
+        {
+            u = el.u[e];
+            v = el.v[e]; 
+            wgt = el.wgt[e];
             
-            System.out.println("Edge " + toChar(u) + "--(" + wgt + ")--" + toChar(v));    
-            // write code to put edge into adjacency matrix     
-            // missing code here            
-       }	       
+            if (wgt < adj[u * (V+1) + v])
+            {
+                adj[u * (V+1) + v] = wgt;
+                adj[v * (V+1) + u] = wgt;
+            }
+        }	       
     }
 
-	// convert vertex into char for pretty printing
-    private char toChar(int u)
-    {  
-        return (char)(u + 64);
+    // Off-heap mode: the matrix is kept in direct memory, or in a memory-mapped
+    // file in backingDir when that is not null, so it is not limited by the heap
+    // or by the largest Java array. Edges are streamed from the file straight in.
+    public GraphMatrix(String graphFile, boolean quiet, boolean offHeap, File backingDir)  throws IOException
+    {
+        if (!offHeap)
+        {
+            GraphMatrix g = new GraphMatrix(graphFile, quiet);
+            V = g.V;
+            E = g.E;
+            adj = g.adj;
+            visited = g.visited;
+            return;
+        }
+
+        EdgeListLoader.scan(graphFile, quiet, new EdgeVisitor()
+        {
+            public void header(int _V, long _E) throws IOException
+            {
+                V = _V;
+                E = (int) _E;
+
+                long cells = (long)(V+1) * (V+1);
+                if (backingDir == null)
+                    offAdj = new OffHeapIntArray(cells);
+                else
+                {
+                    File mf = File.createTempFile("matrix", ".bin", backingDir);
+                    mf.deleteOnExit();
+                    offAdj = new OffHeapIntArray(cells, mf);
+                }
+                offAdj.fill(NO_EDGE);
+            }
+
+            public void edge(int u, int v, int wgt)
+            {
+                if (wgt < offAdj.get((long)u * (V+1) + v))
+                {
+                    offAdj.set((long)u * (V+1) + v, wgt);
+                    offAdj.set((long)v * (V+1) + u, wgt);
+                }
+            }
+        });
+
+        visited = new int[V+1];
     }
-	
-    // method to display the graph representation
+
+    private int weight(int u, int v)
+    {
+        return offAdj != null ? offAdj.get((long)u * (V+1) + v) : adj[u * (V+1) + v];
+    }
+
+    // method to display the graph representation, a row at a time through a buffered sink
     public void display() {
         int u,v;
-        
-        for(v=1; v<=V; ++v){
-            System.out.print("\nadj[" + v + "] = ");
-            for(u=1; u<=V; ++u) 
-                System.out.print("  " + adj[u][v]);
-        }    
-        System.out.println("");
+        StringBuilder line = new StringBuilder();
+
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("");
+            for(v=1; v<=V; ++v){
+                line.setLength(0);
+                line.append("adj[").append(v).append("] = ");
+                for(u=1; u<=V; ++u) 
+                    line.append("  ").append(weight(u, v) == NO_EDGE ? 0 : weight(u, v));
+                out.note(line.toString());
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
     }
 
 
-    // method to initialise Depth First Traversal of Graph
-    public void DF( int s) 
+    // Prim's algorithm by array scanning, O(V^2), for dense graphs.
+    // Uses the SIMD kernel in DensePrimVector when it was compiled and the JVM
+    // was started with --add-modules jdk.incubator.vector, and the scalar
+    // primScan otherwise.
+    public void MST_Prim(int s)
     {
-        id = 0;
-        
-        
+        long wgt_sum;
+        int[] parent = new int[V + 1];
+
+        if (offAdj != null)
+            wgt_sum = primScan(V, offAdj, s, parent);
+        else if (DENSE_VECTOR != null)
+            wgt_sum = vectorScan(V, adj, s, parent);
+        else
+            wgt_sum = primScan(V, adj, s, parent);
+
+        MSTSinks.progress("\n\nWeight of MST = " + wgt_sum);
+
+        mst = parent;
+
+        showMST(s);
+    }
+
+    // Finds DensePrimVector.primScan, which is only there when vector/ was
+    // compiled, and only usable when the vector module is in the boot layer
+    private static MethodHandle findVectorKernel()
+    {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+            return null;
+        try
+        {
+            Class<?> kernel = Class.forName("DensePrimVector");
+            return MethodHandles.lookup().findStatic(kernel, "primScan",
+                MethodType.methodType(long.class, int.class, int[].class, int.class, int[].class));
+        }
+        catch (ReflectiveOperationException ex)
+        {
+            return null;
+        }
+    }
+
+    // Calls the vector kernel, which has the same contract as primScan
+    static long vectorScan(int V, int[] adj, int s, int[] parent)
+    {
+        try
+        {
+            return (long) DENSE_VECTOR.invokeExact(V, adj, s, parent);
+        }
+        catch (RuntimeException | Error ex)
+        {
+            throw ex;
+        }
+        catch (Throwable ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Scalar array-scan Prim over a flattened (V+1) x (V+1) matrix.
+    // Each step scans dist[] for the closest vertex not yet in the tree and
+    // then relaxes that vertex's row of the matrix, both in memory order.
+    // A vertex joining the tree has its dist[] set to IN_TREE, which no
+    // weight is below, and missing edges hold NO_EDGE, which never beats a
+    // dist[] value, so the relaxation is a single compare per vertex.
+    // Fills parent[] and returns the weight of the tree.
+    static long primScan(int V, int[] adj, int s, int[] parent)
+    {
+        int u, v, step, min, d, w, row;
+        long wgt_sum = 0;
+        int n = V + 1;
+        int[] dist = new int[n];
+
+        for(v = 1; v <= V; ++v)
+            dist[v] = Integer.MAX_VALUE;
+        dist[s] = 0;
+
+        for(step = 0; step < V; ++step)
+        {
+            // closest vertex outside the tree, lowest numbered on a tie
+            u = 0;
+            min = Integer.MAX_VALUE;
+            for(v = 1; v <= V; ++v)
+            {
+                d = dist[v];
+                if (d != IN_TREE && d < min)
+                {
+                    min = d;
+                    u = v;
+                }
+            }
+
+            // the rest of the graph cannot be reached from s
+            if (u == 0)
+                break;
+
+            dist[u] = IN_TREE;
+            wgt_sum += min;
+
+            // relax u's row
+            row = u * n;
+            for(v = 1; v <= V; ++v)
+            {
+                w = adj[row + v];
+                if (w < dist[v])
+                {
+                    dist[v] = w;
+                    parent[v] = u;
+                }
+            }
+        }
+        return wgt_sum;
+    }
+
+    // primScan over an off-heap matrix. Each row in turn is read into one
+    // reusable int[] with a bulk copy and relaxed from there, so heap use
+    // stays O(V) however large the matrix is.
+    static long primScan(int V, OffHeapIntArray adj, int s, int[] parent)
+    {
+        int u, v, step, min, d, w;
+        long wgt_sum = 0;
+        int n = V + 1;
+        int[] dist = new int[n];
+        int[] row = new int[n];
+
+        for(v = 1; v <= V; ++v)
+            dist[v] = Integer.MAX_VALUE;
+        dist[s] = 0;
+
+        for(step = 0; step < V; ++step)
+        {
+            u = 0;
+            min = Integer.MAX_VALUE;
+            for(v = 1; v <= V; ++v)
+            {
+                d = dist[v];
+                if (d != IN_TREE && d < min)
+                {
+                    min = d;
+                    u = v;
+                }
+            }
+
+            if (u == 0)
+                break;
+
+            dist[u] = IN_TREE;
+            wgt_sum += min;
+
+            adj.get((long)u * n, row, n);
+            for(v = 1; v <= V; ++v)
+            {
+                w = row[v];
+                if (w < dist[v])
+                {
+                    dist[v] = w;
+                    parent[v] = u;
+                }
+            }
+        }
+        return wgt_sum;
+    }
+
+    public void showMST(int s)
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("Starting vertex is: " + MSTSinks.label(V, s));
+            out.note("\n\nMinimum Spanning tree parent array is:");
+            out.parents(V, mst);
+            out.note("");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Sends the parent array and then the tree edges v--parent[v] of the last MST_Prim to out
+    public void writeMST(MSTSink out) throws IOException
+    {
+        int n = 0;
+        int[] u = new int[V], t = new int[V], w = new int[V];
+
+        for(int v = 1; v <= V; ++v)
+            if (mst[v] != 0)
+            {
+                u[n] = v;
+                t[n] = mst[v];
+                w[n] = weight(v, mst[v]);
+                ++n;
+            }
+        out.parents(V, mst);
+        out.edges(V, n, u, t, w);
+    }
+
+
+    /*****  WeightedGraph, the matrix backend  *****/
+
+    public int vertexCount()
+    {
+        return V;
+    }
+
+    // Parallel edges in the file share a cell, so this counts the filled
+    // cells on and above the diagonal rather than returning E
+    public long edgeCount()
+    {
+        if (cells < 0)
+        {
+            long n = 0;
+            for(int u = 1; u <= V; ++u)
+                for(int v = u; v <= V; ++v)
+                    if (weight(u, v) != NO_EDGE)
+                        ++n;
+            cells = n;
+        }
+        return cells;
+    }
+
+    // Scans v's row, skipping the empty cells
+    public NeighbourCursor neighbours()
+    {
+        return new NeighbourCursor() {
+            private int row, col = V, w;
+
+            public void reset(int v)
+            {
+                row = v;
+                col = 0;
+            }
+
+            public boolean next()
+            {
+                while(col < V)
+                {
+                    w = GraphMatrix.this.weight(row, ++col);
+                    if (w != NO_EDGE)
+                        return true;
+                }
+                return false;
+            }
+
+            public int target()
+            {
+                return col;
+            }
+
+            public int weight()
+            {
+                return w;
+            }
+        };
+    }
+
+    // The filled cells on and above the diagonal, row by row
+    public EdgeCursor edges()
+    {
+        return new EdgeCursor() {
+            private int u = 1, v = 0, w;
+
+            public boolean next()
+            {
+                for(; u <= V; ++u, v = u - 1)
+                    while(v < V)
+                    {
+                        w = GraphMatrix.this.weight(u, ++v);
+                        if (w != NO_EDGE)
+                            return true;
+                    }
+                return false;
+            }
+
+            public int u()
+            {
+                return u;
+            }
+
+            public int v()
+            {
+                return v;
+            }
+
+            public int weight()
+            {
+                return w;
+            }
+        };
+    }
+
+
+    // Depth First Traversal of Graph from s, iterative so that long paths
+    // cannot overflow the call stack. stack[] holds the path from s and
+    // column[v] how far along v's row the search has got, so vertices are
+    // reached in the same order as by the recursive version.
+    // Returns the number of vertices reached.
+    public int DF( int s) 
+    {
+        int v, c, top = 0;
+
+        startTraversal(s);
+        dfVisit(0, s);
+        stack[top++] = s;
+        while(top > 0)
+        {
+            v = stack[top - 1];
+            for(c = column[v] + 1; c <= V; ++c)
+                if (visited[c] == 0 && weight(v, c) != NO_EDGE)
+                    break;
+            if (c > V)
+            {
+                --top;
+                continue;
+            }
+            column[v] = c;
+            dfVisit(v, c);
+            stack[top++] = c;
+        }
+        showTraversal("Depth first");
+        return id;
     }
 
 
-    // Recursive Depth First Traversal for adjacency matrix
+    // Records v as reached from prev along prev--v, prev is 0 for the start
     private void dfVisit( int prev, int v)
     {
+        visited[v] = ++id;
+        order[id - 1] = v;
+        from[v] = prev;
+        column[v] = 0;
+    }
+
+
+    // Breadth First Traversal of Graph from s, order[] doubling as the queue.
+    // Returns the number of vertices reached.
+    public int BF(int s)
+    {
+        breadthFirst(s);
+        showTraversal("Breadth first");
+        return id;
+    }
+
+    private void breadthFirst(int s)
+    {
+        int head = 0, u, v;
 
+        startTraversal(s);
+        dfVisit(0, s);
+        while(head < id)
+        {
+            u = order[head++];
+            for(v = 1; v <= V; ++v)
+                if (visited[v] == 0 && weight(u, v) != NO_EDGE)
+                    dfVisit(u, v);
+        }
+    }
+
+    // Makes the traversal arrays the first time and clears visited[]
+    private void startTraversal(int s)
+    {
+        if (s < 1 || s > V)
+            throw new IllegalArgumentException("Start vertex " + s + " is not in the graph");
+        if (order == null)
+        {
+            order = new int[V];
+            from = new int[V+1];
+            stack = new int[V];
+            column = new int[V+1];
+        }
+        Arrays.fill(visited, 0);
+        id = 0;
+    }
+
+    // Lists the vertices of the last traversal in the order they were reached
+    private void showTraversal(String kind)
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("\n" + kind + " traversal from " + MSTSinks.label(V, order[0]) + ":");
+            for(int i = 1; i < id; ++i)
+                out.note("Visited " + MSTSinks.label(V, order[i]) + " along "
+                         + MSTSinks.label(V, from[order[i]]) + "--" + MSTSinks.label(V, order[i]));
+            out.note(id + " of " + V + " vertices reached");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Labels the connected component of every vertex 1, 2, ... into
+    // comp[1..V], one breadth first pass from each unlabelled vertex, and
+    // returns the number of components
+    public int labelComponents(int[] comp)
+    {
+        int v, u, t, head, tail, count = 0;
+
+        if (V == 0)
+            return 0;
+        startTraversal(1);
+        Arrays.fill(comp, 0);
+        for(v = 1; v <= V; ++v)
+        {
+            if (comp[v] != 0)
+                continue;
+            comp[v] = ++count;
+            head = tail = 0;
+            order[tail++] = v;
+            while(head < tail)
+            {
+                u = order[head++];
+                for(t = 1; t <= V; ++t)
+                    if (comp[t] == 0 && weight(u, t) != NO_EDGE)
+                    {
+                        comp[t] = count;
+                        order[tail++] = t;
+                    }
+            }
+        }
+        return count;
+    }
+
+    // A quick check before an MST run: MST_Prim only spans the graph when
+    // this is true
+    public boolean isConnected()
+    {
+        if (V == 0)
+            return true;
+        breadthFirst(1);
+        return id == V;
     }
 
 
@@ -106,12 +609,40 @@ class GraphMatrix
         int s = 4;
         String fname = "wGraph3.txt";               
 
-        GraphMatrix g = new GraphMatrix(fname);
+        // "offheap" as the first argument keeps the matrix off the Java heap,
+        // in a file under the directory given second if any;
+        // -silent anywhere turns off all progress output and -out FILE writes the tree to FILE (.txt, .csv or .bin)
+        ArrayList<String> rest = new ArrayList<String>();
+        String outFile = null;
+        for(int i = 0; i < args.length; ++i)
+        {
+            if (args[i].equals("-silent"))
+                MSTSinks.silent = true;
+            else if (args[i].equals("-out"))
+                outFile = args[++i];
+            else
+                rest.add(args[i]);
+        }
+        boolean offHeap = rest.size() > 0 && rest.get(0).equals("offheap");
+        File backingDir = rest.size() > 1 ? new File(rest.get(1)) : null;
+
+        GraphMatrix g = new GraphMatrix(fname, false, offHeap, backingDir);
        
         // g.display();
+
+        if (!g.isConnected())
+            MSTSinks.progress("\nThe graph is not connected, so the tree spans only the component of " + MSTSinks.label(g.V, s));
+        g.MST_Prim(s);
+        if (outFile != null)
+        {
+            try (MSTSink out = MSTSinks.forFile(outFile))
+            {
+                g.writeMST(out);
+            }
+        }
         
         // g.DF(s);
-        // g.BF
+        // g.BF(s);
     }
 
 }
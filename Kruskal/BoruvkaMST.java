@@ -0,0 +1,162 @@
+// Boruvka's Minimum Spanning Tree Algorithm, run in parallel on a ForkJoinPool
+//
+// Each round every edge offers itself as the cheapest outgoing edge of the
+// components at both of its ends, then every component is joined along its
+// cheapest edge. Components at least halve each round, so there are at most
+// log V rounds, and every step of a round is split across the pool.
+//
+// Edges are compared by (weight, index) packed with EdgeKeys, a total order,
+// so the edges picked can never form a cycle and the tree found is the one
+// MST_KruskalSorted finds.
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class BoruvkaMST
+{
+    // ranges smaller than this are not split any further
+    private static final int GRAIN = 1 << 13;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final int V, E;
+    private final int[] eu, ev, ew;
+    private final ForkJoinPool pool;
+
+    // Edge e is eu[e]--(ew[e])--ev[e] for e = 1..E, as held by EdgeArrayGraph
+    public BoruvkaMST(int _V, int _E, int[] _eu, int[] _ev, int[] _ew, ForkJoinPool _pool)
+    {
+        V = _V;
+        E = _E;
+        eu = _eu;
+        ev = _ev;
+        ew = _ew;
+        pool = _pool;
+    }
+
+    // Returns the indices of the spanning tree (or forest) edges in ascending weight order
+    public int[] run()
+    {
+        final ConcurrentUnionFind sets = new ConcurrentUnionFind(V);
+        final AtomicLongArray cheapest = new AtomicLongArray(V + 1);
+        final int[] chosen = new int[Math.max(V - 1, 0)];
+        final AtomicInteger count = new AtomicInteger();
+
+        // edges still joining two different components
+        int[] live = new int[E];
+        int liveCount = E;
+        for(int e = 1; e <= E; ++e)
+            live[e - 1] = e;
+
+        while(liveCount > 0)
+        {
+            final int[] cur = live;
+            int before = count.get();
+
+            parallelFor(V + 1, (lo, hi) -> {
+                for(int v = lo; v < hi; ++v)
+                    cheapest.set(v, NONE);
+            });
+
+            // offer every live edge to the components at both ends,
+            // edges inside a component are zeroed to be dropped below
+            parallelFor(liveCount, (lo, hi) -> {
+                for(int i = lo; i < hi; ++i)
+                {
+                    int e = cur[i];
+                    int ru = sets.findSet(eu[e]);
+                    int rv = sets.findSet(ev[e]);
+                    if (ru == rv)
+                    {
+                        cur[i] = 0;
+                        continue;
+                    }
+                    long key = EdgeKeys.pack(ew[e], e);
+                    lowerTo(cheapest, ru, key);
+                    lowerTo(cheapest, rv, key);
+                }
+            });
+
+            // join every component along its cheapest edge; when two components
+            // picked the same edge only the first union succeeds
+            parallelFor(V + 1, (lo, hi) -> {
+                for(int r = lo; r < hi; ++r)
+                {
+                    long key = cheapest.get(r);
+                    if (key == NONE)
+                        continue;
+                    int e = EdgeKeys.index(key);
+                    if (sets.union(eu[e], ev[e]))
+                        chosen[count.getAndIncrement()] = e;
+                }
+            });
+
+            if (count.get() == before)
+                break;
+
+            int n = 0;
+            for(int i = 0; i < liveCount; ++i)
+                if (cur[i] != 0)
+                    live[n++] = cur[i];
+            liveCount = n;
+        }
+
+        // hand the edges back in (weight, index) order so the result does not depend on scheduling
+        int found = count.get();
+        long[] keys = new long[found];
+        for(int i = 0; i < found; ++i)
+            keys[i] = EdgeKeys.pack(ew[chosen[i]], chosen[i]);
+        Arrays.sort(keys);
+
+        int[] tree = new int[found];
+        for(int i = 0; i < found; ++i)
+            tree[i] = EdgeKeys.index(keys[i]);
+        return tree;
+    }
+
+    // atomically a[i] = min(a[i], key)
+    private static void lowerTo(AtomicLongArray a, int i, long key)
+    {
+        long cur;
+        while(key < (cur = a.get(i)) && !a.compareAndSet(i, cur, key))
+            ;
+    }
+
+    private void parallelFor(int n, RangeBody body)
+    {
+        pool.invoke(new RangeTask(body, 0, n));
+    }
+
+    interface RangeBody
+    {
+        void run(int lo, int hi);
+    }
+
+    // Splits [lo, hi) in halves until it is below GRAIN, then runs the body on it
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction
+    {
+        private final RangeBody body;
+        private final int lo, hi;
+
+        RangeTask(RangeBody _body, int _lo, int _hi)
+        {
+            body = _body;
+            lo = _lo;
+            hi = _hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo <= GRAIN)
+            {
+                body.run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(body, lo, mid), new RangeTask(body, mid, hi));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/****************************************************
+*
+*       Lock free disjoint set trees for many threads.
+*       find halves paths with compareAndSet, union
+*       hangs the higher numbered root under the lower
+*       one and retries if another thread got there first.
+*
+*****************************************************/
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+class ConcurrentUnionFind
+{
+    private final AtomicIntegerArray treeParent;
+
+    public ConcurrentUnionFind(int V)
+    {
+        treeParent = new AtomicIntegerArray(V + 1);
+        for(int i = 1; i <= V; i++)
+            treeParent.set(i, i);
+    }
+
+    public int findSet(int x)
+    {
+        int p, gp;
+        while(true)
+        {
+            p = treeParent.get(x);
+            if (p == x)
+                return x;
+            gp = treeParent.get(p);
+            if (p != gp)
+                treeParent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    // Returns true if this call joined two different sets
+    public boolean union(int a, int b)
+    {
+        int t;
+        while(true)
+        {
+            a = findSet(a);
+            b = findSet(b);
+            if (a == b)
+                return false;
+            if (a < b)
+            {
+                t = a;
+                a = b;
+                b = t;
+            }
+            if (treeParent.compareAndSet(a, a, b))
+                return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+// The edge arrays of KruskalDouble, with a double[] of weights, and its Kruskal
+
+import java.io.*;
+
+class DoubleEdgeGraph
+{
+    private int V, E;
+    private int[] eu, ev;      // edge e is eu[e]--(ew[e])--ev[e], e = 1..E
+    private double[] ew;
+    private int[] mu, mv;      // tree edges 0..count-1
+    private double[] mw;
+    private int count;
+    private DoubleWeightSum mstWeight = new DoubleWeightSum();
+
+    // quiet suppresses the echo of the header and every edge while loading
+    public DoubleEdgeGraph(String graphFile, boolean quiet) throws IOException
+    {
+        EdgeListLoader.scanDouble(graphFile, quiet, new DoubleEdgeVisitor() {
+            private int e = 0;
+
+            public void header(int _V, long _E) throws IOException
+            {
+                if (_E >= Integer.MAX_VALUE)
+                    throw new IOException(graphFile + ": " + _E + " edges do not fit in an edge array");
+                V = _V;
+                E = (int) _E;
+                eu = new int[E + 1];
+                ev = new int[E + 1];
+                ew = new double[E + 1];
+            }
+
+            public void edge(int u, int v, double wgt)
+            {
+                ++e;
+                eu[e] = u;
+                ev[e] = v;
+                ew[e] = wgt;
+            }
+        });
+    }
+
+    public int vertices()
+    {
+        return V;
+    }
+
+    public void MST_Kruskal()
+    {
+        int e, examined = 0;
+        MSTRunEvent run = MSTMetrics.beginRun("kruskalDouble");
+
+        mu = new int[Math.max(V - 1, 0)];
+        mv = new int[Math.max(V - 1, 0)];
+        mw = new double[Math.max(V - 1, 0)];
+        count = 0;
+        mstWeight.reset();
+
+        MSTPhaseEvent phase = MSTMetrics.begin("kruskalDouble", "heapBuild");
+        DoubleEdgeHeap h = new DoubleEdgeHeap(E, ew);
+        MSTMetrics.end(phase);
+
+        phase = MSTMetrics.begin("kruskalDouble", "loop");
+        UnionFindSets partition = new UnionFindSets(V);
+        while(count < V - 1 && !h.isEmpty())
+        {
+            e = h.remove();
+            if (partition.findSet(eu[e]) != partition.findSet(ev[e]))
+            {
+                partition.union(eu[e], ev[e]);
+                mstWeight.add(ew[e]);
+                mu[count] = eu[e];
+                mv[count] = ev[e];
+                mw[count] = ew[e];
+                count++;
+            }
+            examined++;
+        }
+        MSTMetrics.end(phase);
+
+        MSTSinks.progress("Edges examined: " + examined + " of " + E);
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + weight());
+        MSTMetrics.endRun(run, Math.round(mstWeight.value()));
+    }
+
+    public double weight()
+    {
+        return mstWeight.value();
+    }
+
+    public DoubleWeightSum weightSum()
+    {
+        return mstWeight;
+    }
+
+    public void showMST()
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("\nMinimum spanning tree build from following edges:");
+            out.edges(V, count, mu, mv, mw);
+            out.note("");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void writeMST(MSTSink out) throws IOException
+    {
+        out.edges(V, count, mu, mv, mw);
+    }
+}
@@ -0,0 +1,19 @@
+// Binary heap of edge numbers keyed on a double[] of weights, for KruskalDouble
+
+class DoubleEdgeHeap extends KeyedEdgeHeap
+{
+    private double[] w;    // w[e] = weight of edge e
+
+    // Bottom up heap construction over edges 1..n, O(n)
+    public DoubleEdgeHeap(int n, double[] _w)
+    {
+        super(n);
+        w = _w;
+        heapify();
+    }
+
+    protected boolean less(int a, int b)
+    {
+        return w[a] < w[b];
+    }
+}
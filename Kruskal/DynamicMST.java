@@ -0,0 +1,333 @@
+// Minimum spanning forest kept up to date as edges are added
+//
+// The forest is held in a link-cut tree (Sleator and Tarjan). Every tree edge
+// is a node of its own between the nodes of its two ends, so asking for the
+// heaviest edge on the path u..v is a path aggregate. A new edge u--v either
+// joins two trees, or closes a cycle whose heaviest edge is cut out if the new
+// edge is lighter (the cycle property). Each insert is O(log V) amortized.
+//
+// Edges are compared by EdgeKeys (weight, index), so after any sequence of
+// inserts the forest is exactly the one MST_KruskalSorted would find.
+//
+// Node 1..V is vertex v, node V+1+s is the tree edge held in slot s.
+// Slots are reused, there are never more than V-1 tree edges.
+//
+// Trees only ever merge, a cut is always followed by a link across the same
+// cycle, so whether u and v are already joined is asked of a UnionFindSets
+// rather than of the link-cut tree.
+
+import java.util.Arrays;
+
+class DynamicMST
+{
+    private static final long NO_KEY = Long.MIN_VALUE;
+
+    private final int V;
+
+    // link-cut tree: splay children, parent (splay or path parent), reversal flag,
+    // the key of the node and the node with the largest key in its splay subtree
+    private final int[] left, right, par;
+    private final boolean[] rev;
+    private final long[] key;
+    private final int[] maxNode;
+
+    // ends of the edge in each slot, and the slots that are free
+    private final int[] su, sv;
+    private final int[] free;
+    private int freeCount;
+    private int edges;
+    private long weight;
+    private final UnionFindSets trees;
+
+    // scratch for pushing reversal flags down before a splay
+    private final int[] stack;
+
+    // parent array derived from the forest, rebuilt only when asked for after a change
+    private int[] parent;
+    private int parentRoot;
+
+    public DynamicMST(int _V)
+    {
+        V = _V;
+        int slots = Math.max(V - 1, 0);
+        int n = V + slots + 1;
+
+        left = new int[n];
+        right = new int[n];
+        par = new int[n];
+        rev = new boolean[n];
+        key = new long[n];
+        maxNode = new int[n];
+        stack = new int[n];
+
+        Arrays.fill(key, NO_KEY);
+        for(int x = 0; x < n; ++x)
+            maxNode[x] = x;
+
+        su = new int[slots];
+        sv = new int[slots];
+        free = new int[slots];
+        for(int s = 0; s < slots; ++s)
+            free[s] = slots - 1 - s;
+        freeCount = slots;
+
+        trees = new UnionFindSets(V);
+    }
+
+    // Offers edge u--v with EdgeKeys key k to the forest. Returns the slot the
+    // edge now holds, or -1 if it was not taken. When the slot returned already
+    // held an edge, that edge was the heaviest on the cycle and has been cut.
+    public int insert(int u, int v, long k)
+    {
+        int s;
+
+        if (u == v)
+            return -1;
+
+        if (trees.findSet(u) != trees.findSet(v))
+        {
+            trees.union(u, v);
+            s = free[--freeCount];
+            ++edges;
+        }
+        else
+        {
+            // heaviest edge on the path u..v
+            makeRoot(u);
+            access(v);
+            int m = maxNode[v];
+            if (key[m] <= k)
+                return -1;
+
+            s = m - V - 1;
+            cut(su[s], m);
+            cut(m, sv[s]);
+            weight -= EdgeKeys.weight(key[m]);
+        }
+
+        int x = V + 1 + s;
+        su[s] = u;
+        sv[s] = v;
+        key[x] = k;
+        maxNode[x] = x;
+        link(u, x);
+        link(x, v);
+        weight += EdgeKeys.weight(k);
+        parent = null;
+        return s;
+    }
+
+    public int edges()
+    {
+        return edges;
+    }
+
+    public long weight()
+    {
+        return weight;
+    }
+
+    // Key of the edge in slot s, if there is one
+    public long slotKey(int s)
+    {
+        return key[V + 1 + s];
+    }
+
+    public boolean connected(int u, int v)
+    {
+        return trees.findSet(u) == trees.findSet(v);
+    }
+
+    // parent[v] of every vertex with the tree holding root hung from root and
+    // every other tree from its lowest numbered vertex; roots have parent 0.
+    // The link-cut tree reroots freely, so the array is built from the slots in
+    // O(V) the first time it is asked for after a change and kept until the next.
+    public int[] parents(int root)
+    {
+        if (parent != null && parentRoot == root)
+            return parent;
+
+        int slots = su.length;
+        int[] start = new int[V + 2];
+        int[] nbr = new int[2 * slots];
+        int s, i, x, y, head, tail;
+
+        for(s = 0; s < slots; ++s)
+            if (key[V + 1 + s] != NO_KEY)
+            {
+                ++start[su[s] + 1];
+                ++start[sv[s] + 1];
+            }
+        for(x = 1; x <= V + 1; ++x)
+            start[x] += start[x - 1];
+        int[] pos = Arrays.copyOf(start, V + 1);
+        for(s = 0; s < slots; ++s)
+            if (key[V + 1 + s] != NO_KEY)
+            {
+                nbr[pos[su[s]]++] = sv[s];
+                nbr[pos[sv[s]]++] = su[s];
+            }
+
+        // breadth first from each root, with the queue held in pos
+        parent = new int[V + 1];
+        boolean[] seen = new boolean[V + 1];
+        for(int r = 0; r <= V; ++r)
+        {
+            int from = r == 0 ? root : r;
+            if (from < 1 || from > V || seen[from])
+                continue;
+            seen[from] = true;
+            head = 0;
+            tail = 0;
+            pos[tail++] = from;
+            while(head < tail)
+            {
+                x = pos[head++];
+                for(i = start[x]; i < start[x + 1]; ++i)
+                {
+                    y = nbr[i];
+                    if (!seen[y])
+                    {
+                        seen[y] = true;
+                        parent[y] = x;
+                        pos[tail++] = y;
+                    }
+                }
+            }
+        }
+        parentRoot = root;
+        return parent;
+    }
+
+
+    /*****  link-cut tree  *****/
+
+    private boolean isRoot(int x)
+    {
+        int p = par[x];
+        return p == 0 || (left[p] != x && right[p] != x);
+    }
+
+    private void push(int x)
+    {
+        if (rev[x])
+        {
+            int t = left[x];
+            left[x] = right[x];
+            right[x] = t;
+            if (left[x] != 0)
+                rev[left[x]] = !rev[left[x]];
+            if (right[x] != 0)
+                rev[right[x]] = !rev[right[x]];
+            rev[x] = false;
+        }
+    }
+
+    private void pull(int x)
+    {
+        int m = x;
+        if (left[x] != 0 && key[maxNode[left[x]]] > key[m])
+            m = maxNode[left[x]];
+        if (right[x] != 0 && key[maxNode[right[x]]] > key[m])
+            m = maxNode[right[x]];
+        maxNode[x] = m;
+    }
+
+    private void rotate(int x)
+    {
+        int p = par[x], g = par[p];
+
+        if (!isRoot(p))
+        {
+            if (left[g] == p)
+                left[g] = x;
+            else
+                right[g] = x;
+        }
+        par[x] = g;
+
+        if (left[p] == x)
+        {
+            left[p] = right[x];
+            if (right[x] != 0)
+                par[right[x]] = p;
+            right[x] = p;
+        }
+        else
+        {
+            right[p] = left[x];
+            if (left[x] != 0)
+                par[left[x]] = p;
+            left[x] = p;
+        }
+        par[p] = x;
+
+        pull(p);
+        pull(x);
+    }
+
+    private void splay(int x)
+    {
+        int n = 0, y = x, p, g;
+
+        // reversals are pushed down from the top of x's splay tree first
+        stack[n++] = y;
+        while(!isRoot(y))
+        {
+            y = par[y];
+            stack[n++] = y;
+        }
+        while(n > 0)
+            push(stack[--n]);
+
+        while(!isRoot(x))
+        {
+            p = par[x];
+            if (!isRoot(p))
+            {
+                g = par[p];
+                if ((left[g] == p) == (left[p] == x))
+                    rotate(p);
+                else
+                    rotate(x);
+            }
+            rotate(x);
+        }
+    }
+
+    // Makes the path from x's tree root to x preferred, with x at the root of its splay tree
+    private void access(int x)
+    {
+        int last = 0;
+        for(int y = x; y != 0; y = par[y])
+        {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x)
+    {
+        access(x);
+        rev[x] = !rev[x];
+    }
+
+    private void link(int x, int y)
+    {
+        makeRoot(x);
+        par[x] = y;
+    }
+
+    // x and y must be joined by a tree edge
+    private void cut(int x, int y)
+    {
+        makeRoot(x);
+        access(y);
+        left[y] = 0;
+        par[x] = 0;
+        pull(y);
+    }
+}
@@ -0,0 +1,78 @@
+// An edge u--(wgt)--v of KruskalTrees, and the output of a list of them
+
+import java.io.*;
+
+class Edge 
+{
+    public int u, v, wgt;
+
+    //Constructor to initialise edge components to zero
+    public Edge() 
+    {
+        u = 0;
+        v = 0;
+        wgt = 0;
+    }
+
+    public Edge(int x, int y, int w)
+     {
+        u = x;
+        v = y;
+        wgt = w;
+    }
+    
+    //Accessor methods
+    public int getOrigin()
+    {
+        return u;
+    }
+    public int getDest()
+    {
+        return v;
+    }
+    public int getWeight()
+    {
+        return wgt;
+    }
+
+    //Set the weight
+    public static Edge setValues(int _u, int _v, int weight)
+    {
+        Edge e = new Edge(_u, _v, weight);
+        return e;
+    }
+
+    // Sends the first n edges, skipping empty slots, to out in one go
+    public static void write(MSTSink out, int V, Edge[] edges, int n) throws IOException
+    {
+        int[] u = new int[n], v = new int[n], w = new int[n];
+        int k = 0;
+
+        for(int i = 0; i < n; ++i)
+            if (edges[i] != null)
+            {
+                u[k] = edges[i].u;
+                v[k] = edges[i].v;
+                w[k] = edges[i].wgt;
+                ++k;
+            }
+        out.edges(V, k, u, v, w);
+    }
+
+    // The tree as the programs print it, headed by title, unless silent
+    public static void show(String title, int V, Edge[] edges, int n)
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note(title);
+            write(out, V, edges, n);
+            out.note("");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
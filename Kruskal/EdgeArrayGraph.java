@@ -0,0 +1,468 @@
+// Kruskal's graph: an array of edges, also held in primitive arrays, and
+// the heap, sort, Boruvka, filter and incremental engines that run on it
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import mst.EdgeCursor;
+import mst.NeighbourCursor;
+import mst.WeightedGraph;
+
+class EdgeArrayGraph implements WeightedGraph
+{ 
+    //Number of vertices and edges
+    private int V, E;
+    private Edge[] edge;
+    private Edge[] mst;        
+    private long mst_weight;
+
+    // edge e is also held in primitive arrays as eu[e]--(ew[e])--ev[e]
+    // so the sort based engines never touch an Edge object in their loops
+    private int[] eu, ev, ew;
+
+    // spanning forest kept current by addEdge, mst[s] is the edge in its slot s
+    private DynamicMST dynamic;
+
+    // edges at v are incidence[1][incidence[0][v] .. incidence[0][v+1]-1], see neighbours()
+    private volatile int[][] incidence;
+
+    public EdgeArrayGraph(String graphFile) throws IOException
+    {
+        this(graphFile, false);
+    }
+
+    // quiet suppresses the echo of the header and every edge while loading.
+    // Files in the GraphBinary format are read without any parsing.
+    public EdgeArrayGraph(String graphFile, boolean quiet) throws IOException
+    {
+        this(GraphBinary.isBinary(graphFile) ? GraphBinary.readEdges(graphFile)
+                                             : EdgeListLoader.load(graphFile, quiet));
+    }
+
+    // A graph already in memory, such as the random ones of KruskalTrees check
+    EdgeArrayGraph(EdgeList el)
+    {
+        int e;
+
+        V = el.V;
+        E = el.E;
+        
+        // create edge array
+        edge = new Edge[E+1];   
+        eu = new int[E+1];
+        ev = new int[E+1];
+        ew = new int[E+1];
+        
+        for(e = 1; e <= E; ++e)
+        {
+            eu[e] = el.u[e-1];
+            ev[e] = el.v[e-1];
+            ew[e] = el.wgt[e-1];
+
+            // create Edge object, for each edge we are storing its origin, "destination" and weight
+            edge[e] = new Edge(eu[e], ev[e], ew[e]);
+        }        
+    }
+
+    // The edges of any other backend, read once through its EdgeCursor, so
+    // every engine here (heap, sort, filter, Boruvka and addEdge) runs on
+    // the lists, the matrix or a CSRGraph as well as on a file
+    public EdgeArrayGraph(WeightedGraph g)
+    {
+        long count = g.edgeCount();
+        int e = 0;
+
+        if (count > Integer.MAX_VALUE - 1)
+            throw new IllegalArgumentException(count + " edges are too many for an edge array");
+
+        V = g.vertexCount();
+        E = (int) count;
+        edge = new Edge[E+1];
+        eu = new int[E+1];
+        ev = new int[E+1];
+        ew = new int[E+1];
+
+        EdgeCursor c = g.edges();
+        while(c.next())
+        {
+            if (++e > E)
+                throw new IllegalArgumentException("The graph gives more than its " + E + " edges");
+            eu[e] = c.u();
+            ev[e] = c.v();
+            ew[e] = c.weight();
+            edge[e] = new Edge(eu[e], ev[e], ew[e]);
+        }
+        if (e < E)
+            throw new IllegalArgumentException("The graph gives " + e + " of its " + E + " edges");
+    }
+
+
+    /**********************************************************
+    *
+    *       Kruskal's minimum spanning tree algorithm
+    *
+    **********************************************************/
+    public void MST_Kruskal() 
+    {
+        int ei = 0, edge_counter = 0;
+        Edge e, uSet, vSet;
+        long t0 = 0, t1 = 0, removeNanos = 0, findNanos = 0;
+        MSTRunEvent run = MSTMetrics.beginRun("kruskal");
+        
+        // create edge array to store MST
+        // Initially it has no edges.
+        mst = new Edge[Math.max(V-1, 0)];
+        dynamic = null;
+        mst_weight = 0;
+
+        // priority queue for indices of array of edges
+        MSTPhaseEvent phase = MSTMetrics.begin("kruskal", "heapBuild");
+        EdgeHeap h = new EdgeHeap(E, edge);
+        MSTMetrics.end(phase);
+
+        phase = MSTMetrics.begin("kruskal", "display");
+        h.display();
+        MSTMetrics.end(phase);
+
+        //create partition of singleton sets for the vertices 
+        UnionFindSets partition = new UnionFindSets(V);
+
+        // with mst.metrics on the loop's time is split between the heap and union-find
+        phase = MSTMetrics.begin("kruskal", "loop");
+
+        //Over here we return the minimum edge, check to see in which set x exists ( find_Set(x) ) ? and if it does we apply a union, then add it to the tree
+
+        //Break loop once the tree has V-1 edges or the edges run out
+        while(ei < V - 1 && !h.isEmpty())
+        {
+            //Gets the edge
+            if (MSTMetrics.ENABLED)
+                t0 = System.nanoTime();
+            e = h.remove();
+            if (MSTMetrics.ENABLED)
+                t1 = System.nanoTime();
+
+            //If this set is not equal to that set, then we can join the sets and add the to the minimum spanning tree
+            if(partition.findSet(e.getOrigin()) != partition.findSet(e.getDest()))
+            {
+                //Each time called - 1 set created, 2 sets destroyed
+                partition.union(e.getOrigin(), e.getDest());
+                mst_weight += e.getWeight();
+                mst[ei] = e;
+                ei++;
+            }
+            //Increase the index if the edge
+            edge_counter++;
+
+            if (MSTMetrics.ENABLED)
+            {
+                removeNanos += t1 - t0;
+                findNanos += System.nanoTime() - t1;
+            }
+        }
+        MSTMetrics.end(phase);
+        if (MSTMetrics.ENABLED)
+        {
+            MSTMetrics.time("kruskal", "loop.heapRemove", removeNanos);
+            MSTMetrics.time("kruskal", "loop.unionFind", findNanos);
+        }
+
+        MSTSinks.progress("Edges examined: " + edge_counter + " of " + E);
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + mst_weight);
+        MSTMetrics.endRun(run, mst_weight);
+    }
+
+
+    /**********************************************************
+    *
+    *       Kruskal's algorithm over packed edge keys
+    *
+    *       Every edge becomes one long (see EdgeKeys), the
+    *       whole array is sorted with Arrays.parallelSort and
+    *       then streamed through the union-find, stopping as
+    *       soon as the tree has V-1 edges.
+    *
+    **********************************************************/
+    public void MST_KruskalSorted() 
+    {
+        int ei = 0, e, k, u, v;
+        long[] keys = new long[E];
+
+        for(e = 1; e <= E; ++e)
+            keys[e-1] = EdgeKeys.pack(ew[e], e);
+
+        Arrays.parallelSort(keys);
+
+        mst = new Edge[Math.max(V-1, 0)];
+        dynamic = null;
+        mst_weight = 0;
+
+        UnionFindSets partition = new UnionFindSets(V);
+
+        for(k = 0; k < E && ei < V - 1; ++k)
+        {
+            e = EdgeKeys.index(keys[k]);
+            u = eu[e];
+            v = ev[e];
+
+            if(partition.findSet(u) != partition.findSet(v))
+            {
+                partition.union(u, v);
+                mst_weight += ew[e];
+                mst[ei] = edge[e];
+                ei++;
+            }
+        }
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + mst_weight);
+    }
+
+
+    /**********************************************************
+    *
+    *       Boruvka's algorithm in parallel, see BoruvkaMST
+    *
+    **********************************************************/
+    public void MST_Boruvka() 
+    {
+        MST_Boruvka(ForkJoinPool.commonPool());
+    }
+
+    public void MST_Boruvka(ForkJoinPool pool) 
+    {
+        int[] tree = new BoruvkaMST(V, E, eu, ev, ew, pool).run();
+
+        mst = new Edge[Math.max(V-1, 0)];
+        dynamic = null;
+        mst_weight = 0;
+
+        for(int i = 0; i < tree.length; ++i)
+        {
+            mst[i] = edge[tree[i]];
+            mst_weight += ew[tree[i]];
+        }
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + mst_weight);
+    }
+
+
+    /**********************************************************
+    *
+    *       Filter-Kruskal, see FilterKruskal
+    *
+    **********************************************************/
+    public void MST_FilterKruskal() 
+    {
+        int[] tree = new FilterKruskal(V, E, eu, ev, ew).run();
+
+        mst = new Edge[Math.max(V-1, 0)];
+        dynamic = null;
+        mst_weight = 0;
+
+        for(int i = 0; i < tree.length; ++i)
+        {
+            mst[i] = edge[tree[i]];
+            mst_weight += ew[tree[i]];
+        }
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + mst_weight);
+    }
+
+
+    /**********************************************************
+    *
+    *       Incremental minimum spanning tree, see DynamicMST
+    *
+    *       addEdge adds an edge to the graph and updates mst,
+    *       mst_weight and the parent array in O(log V) amortized
+    *       instead of running the whole algorithm again. The
+    *       first call finds the tree with FilterKruskal.
+    *
+    **********************************************************/
+    public boolean addEdge(int u, int v, int wgt)
+    {
+        return addEdge(new Edge(u, v, wgt));
+    }
+
+    // Returns true if the edge went into the tree
+    public boolean addEdge(Edge e)
+    {
+        if (e.u < 1 || e.u > V || e.v < 1 || e.v > V)
+            throw new IllegalArgumentException("Edge " + e.u + "--" + e.v + " is not between vertices 1.." + V);
+
+        if (dynamic == null)
+            startDynamic();
+
+        if (E + 1 == edge.length)
+        {
+            int cap = 2 * edge.length;
+            edge = Arrays.copyOf(edge, cap);
+            eu = Arrays.copyOf(eu, cap);
+            ev = Arrays.copyOf(ev, cap);
+            ew = Arrays.copyOf(ew, cap);
+        }
+        ++E;
+        edge[E] = e;
+        eu[E] = e.u;
+        ev[E] = e.v;
+        ew[E] = e.wgt;
+        incidence = null;
+
+        int s = dynamic.insert(e.u, e.v, EdgeKeys.pack(e.wgt, E));
+        if (s < 0)
+            return false;
+
+        mst[s] = e;
+        mst_weight = dynamic.weight();
+        return true;
+    }
+
+    private void startDynamic()
+    {
+        int[] tree = new FilterKruskal(V, E, eu, ev, ew).run();
+
+        dynamic = new DynamicMST(V);
+        mst = new Edge[Math.max(V-1, 0)];
+        for(int i = 0; i < tree.length; ++i)
+        {
+            int e = tree[i];
+            mst[dynamic.insert(eu[e], ev[e], EdgeKeys.pack(ew[e], e))] = edge[e];
+        }
+        mst_weight = dynamic.weight();
+    }
+
+    public long mstWeight()
+    {
+        return mst_weight;
+    }
+
+    // parent[v] in the tree hung from root, 0 for root and for vertices it does not reach
+    // from root (those are hung from the lowest vertex of their own tree)
+    public int[] mstParent(int root)
+    {
+        if (dynamic == null)
+            startDynamic();
+        return dynamic.parents(root);
+    }
+
+
+    public void showMST()
+    {
+        // slots of a spanning forest can be empty, Edge.show skips them
+        Edge.show("\nMinimum spanning tree build from following edges:", V, mst, mst.length);
+    }
+
+    // Sends the tree edges to out
+    public void writeMST(MSTSink out) throws IOException
+    {
+        Edge.write(out, V, mst, mst.length);
+    }
+
+
+    /**********************************************************
+    *
+    *       WeightedGraph, the edge array backend
+    *
+    *       Edges come straight from eu, ev and ew. For
+    *       neighbours an index of the edges at every vertex
+    *       is built, in CSR form, the first time it is asked
+    *       for and dropped again by addEdge.
+    *
+    **********************************************************/
+    public int vertexCount()
+    {
+        return V;
+    }
+
+    public long edgeCount()
+    {
+        return E;
+    }
+
+    public EdgeCursor edges()
+    {
+        return new EdgeCursor() {
+            private int e = 0;
+
+            public boolean next()
+            {
+                if (e == E)
+                    return false;
+                ++e;
+                return true;
+            }
+
+            public int u()
+            {
+                return eu[e];
+            }
+
+            public int v()
+            {
+                return ev[e];
+            }
+
+            public int weight()
+            {
+                return ew[e];
+            }
+        };
+    }
+
+    public NeighbourCursor neighbours()
+    {
+        final int[][] index = incidence();
+        return new NeighbourCursor() {
+            private final int[] first = index[0], at = index[1];
+            private int i, end, v, e;
+
+            public void reset(int _v)
+            {
+                v = _v;
+                i = first[v];
+                end = first[v + 1];
+            }
+
+            public boolean next()
+            {
+                if (i == end)
+                    return false;
+                e = at[i++];
+                return true;
+            }
+
+            public int target()
+            {
+                return eu[e] == v ? ev[e] : eu[e];
+            }
+
+            public int weight()
+            {
+                return ew[e];
+            }
+        };
+    }
+
+    // Builds the index of the edges at every vertex if there is none
+    private synchronized int[][] incidence()
+    {
+        if (incidence != null)
+            return incidence;
+
+        int e, v;
+        int[] first = new int[V + 2];
+        int[] at = new int[2 * E];
+        for(e = 1; e <= E; ++e)
+        {
+            first[eu[e] + 1]++;
+            first[ev[e] + 1]++;
+        }
+        for(v = 1; v <= V + 1; ++v)
+            first[v] += first[v - 1];
+        int[] pos = Arrays.copyOf(first, V + 1);
+        for(e = 1; e <= E; ++e)
+        {
+            at[pos[eu[e]]++] = e;
+            at[pos[ev[e]]++] = e;
+        }
+        incidence = new int[][] { first, at };
+        return incidence;
+    }
+} // end of EdgeArrayGraph class
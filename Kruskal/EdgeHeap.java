@@ -0,0 +1,121 @@
+// Binary heap of Edge objects, lightest first, for MST_Kruskal
+
+import java.io.*;
+
+class EdgeHeap
+{
+	private Edge[] h;
+    int N, Nmax;
+    Edge[] edge;
+
+
+    // Bottom up heap construction
+    // Copies the edges in as they are, then sifts down every internal node
+    // from the last one back to the root. That is O(E) rather than the
+    // O(E log E) of inserting the edges one at a time.
+    public EdgeHeap(int _N, Edge[] _edge) 
+    {
+        int k;
+        Nmax = _N;
+        N = Nmax;
+        h = new Edge[Nmax+1];
+        edge = _edge;
+
+        //h[0] is a sentinel lighter than any edge, so siftUp stops at the root
+        h[0] = Edge.setValues(0, 0, Integer.MIN_VALUE);
+
+        //The array in the heap will hold the edges
+        for(k = 1; k <= N; ++k)
+            h[k] = edge[k];
+
+        for(k = N / 2; k >= 1; --k)
+            siftDown(k);
+    }
+
+    public void siftUp( int k) 
+    {
+       Edge v = h[k];
+       int levels = 0;
+
+       while( v.getWeight() < h[k / 2].getWeight() ) 
+       {
+          h[k] = h[k / 2];
+          k = k / 2;
+          ++levels;
+       }
+       //Compelte the swap
+       h[k] = v;
+       if (MSTMetrics.ENABLED)
+          MSTMetrics.siftUp(levels);
+    }
+
+    private void siftDown( int k) {
+        Edge v;
+        int j;
+        int levels = 0;
+
+        //Assign the value we will be sifting down
+        v = h[k];
+
+        //While k has a child, pull the lighter child up if it is lighter than v
+        while( 2 * k <= N ) 
+        {
+            j = 2 * k;
+            if (j < N && h[j + 1].getWeight() < h[j].getWeight())
+                ++j;
+
+            if (v.getWeight() <= h[j].getWeight())
+                break;
+
+            h[k] = h[j];
+            k = j;
+            ++levels;
+        }//end while
+        //Assign the final element
+        h[k] = v;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.siftDown(levels);
+    }
+
+
+    public Edge remove() {
+        Edge temp = h[1];
+        h[1] = h[N--];
+        siftDown(1);
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.remove();
+        return temp;
+    }
+
+    // Prints the heap a level per line, buffered and written at once, unless silent
+    public void display() 
+    {
+       if (MSTSinks.silent)
+          return;
+       try (MSTSink out = MSTSinks.console())
+       {
+          out.note("\n\nThe tree structure of the heaps is:");
+          if (N == 0)
+             return;
+          out.note(String.valueOf(h[1].getWeight()));
+          StringBuilder level = new StringBuilder();
+          for(int i = 1; i<= N/2; i = i * 2) 
+          {
+             level.setLength(0);
+             for(int j = 2*i; j < 4*i && j <= N; ++j)
+                level.append(h[j].getWeight()).append("  ");
+             out.note(level.toString());
+          }
+       }
+       catch (IOException ex)
+       {
+          throw new UncheckedIOException(ex);
+       }
+    }
+
+    public boolean isEmpty()
+    {
+      //Gets a big number at the end as a[0] is the biggest no.
+        return (N == 0);
+    }
+}
@@ -0,0 +1,26 @@
+/****************************************************
+*
+*       Edges packed into a single long for sorting:
+*       the weight in the high 32 bits and the edge
+*       index in the low 32 bits. Sorting the longs
+*       orders edges by weight, ties by index.
+*
+*****************************************************/
+
+class EdgeKeys
+{
+    public static long pack(int wgt, int e)
+    {
+        return ((long) wgt << 32) | e;
+    }
+
+    public static int weight(long key)
+    {
+        return (int) (key >> 32);
+    }
+
+    public static int index(long key)
+    {
+        return (int) key;
+    }
+}
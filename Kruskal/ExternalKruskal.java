@@ -0,0 +1,365 @@
+// External memory Kruskal's Minimum Spanning Tree Algorithm
+//
+// For edge files far larger than the heap. The file is streamed once and
+// cut into chunks of chunkEdges edges; each chunk is sorted in memory and
+// written to a temporary run file. The runs are then merged k ways, a
+// buffered block of each run at a time, straight into the UnionFindSets
+// loop, which stops reading as soon as V-1 edges are accepted.
+//
+// At most fanIn runs are open at once. When there are more, earlier passes
+// merge consecutive groups of fanIn runs into longer runs until few enough
+// are left, so a graph of billions of edges stays under the open file limit.
+// Each run file is deleted as soon as it has been read to the end. Every
+// read and write is sequential and memory is O(chunkEdges + V + fanIn).
+//
+// Ties are broken by position in the file: within a run by the sort key
+// (weight, position in chunk) and across runs by run number, the order
+// MST_KruskalSorted uses, so the same tree comes out. Merging groups of
+// neighbouring runs keeps that order.
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ExternalKruskal
+{
+    public static final int DEFAULT_CHUNK = 1 << 22;
+
+    // runs merged at once, each holding a file open and a RUN_BUFFER
+    public static final int DEFAULT_FAN_IN = 128;
+
+    // bytes of buffer for each run while writing and merging
+    private static final int RUN_BUFFER = 1 << 16;
+
+    private final int chunkEdges;
+    private final int fanIn;
+    private final File tempDir;
+
+    private int V;
+    private long E;
+    private Edge[] mst;
+    private int count;
+    private long mst_weight;
+    private long examined;
+
+    // chunkEdges edges are sorted in memory at a time and at most fanIn runs
+    // are merged at once; run files go in tempDir, or the system temporary
+    // directory when it is null
+    public ExternalKruskal(int _chunkEdges, int _fanIn, File _tempDir)
+    {
+        if (_chunkEdges < 1)
+            throw new IllegalArgumentException("Chunk size must be at least one edge");
+        if (_fanIn < 2)
+            throw new IllegalArgumentException("Need to merge at least two runs at once");
+        chunkEdges = _chunkEdges;
+        fanIn = _fanIn;
+        tempDir = _tempDir;
+    }
+
+    public ExternalKruskal(int _chunkEdges, File _tempDir)
+    {
+        this(_chunkEdges, DEFAULT_FAN_IN, _tempDir);
+    }
+
+    public ExternalKruskal()
+    {
+        this(DEFAULT_CHUNK, null);
+    }
+
+    public void run(String graphFile, boolean quiet) throws IOException
+    {
+        ArrayList<File> runs = new ArrayList<File>();
+        try
+        {
+            writeRuns(graphFile, quiet, runs);
+            while(runs.size() > fanIn)
+                mergePass(runs);
+            merge(runs);
+        }
+        finally
+        {
+            // whatever an early stop or a failure left behind
+            for(File f : runs)
+                f.delete();
+        }
+    }
+
+
+    /*****  phase 1: sorted runs  *****/
+
+    private void writeRuns(String graphFile, boolean quiet, final ArrayList<File> runs) throws IOException
+    {
+        final int[] cu = new int[chunkEdges];
+        final int[] cv = new int[chunkEdges];
+        final int[] cw = new int[chunkEdges];
+        final long[] keys = new long[chunkEdges];
+        final int[] n = new int[1];
+
+        EdgeListLoader.scan(graphFile, quiet, new EdgeVisitor() {
+            public void header(int _V, long _E)
+            {
+                V = _V;
+                E = _E;
+            }
+
+            public void edge(int u, int v, int wgt) throws IOException
+            {
+                cu[n[0]] = u;
+                cv[n[0]] = v;
+                cw[n[0]] = wgt;
+                n[0]++;
+                if (n[0] == chunkEdges)
+                {
+                    runs.add(writeRun(cu, cv, cw, keys, n[0]));
+                    n[0] = 0;
+                }
+            }
+        });
+
+        if (n[0] > 0)
+            runs.add(writeRun(cu, cv, cw, keys, n[0]));
+    }
+
+    // Sorts the first n edges of the chunk by (weight, position) and writes them out as u v wgt
+    private File writeRun(int[] cu, int[] cv, int[] cw, long[] keys, int n) throws IOException
+    {
+        int i, e;
+
+        for(i = 0; i < n; ++i)
+            keys[i] = EdgeKeys.pack(cw[i], i);
+        Arrays.parallelSort(keys, 0, n);
+
+        File f = File.createTempFile("kruskal-run", ".bin", tempDir);
+        try (DataOutputStream out = openRun(f))
+        {
+            for(i = 0; i < n; ++i)
+            {
+                e = EdgeKeys.index(keys[i]);
+                out.writeInt(cu[e]);
+                out.writeInt(cv[e]);
+                out.writeInt(cw[e]);
+            }
+        }
+        return f;
+    }
+
+    private static DataOutputStream openRun(File f) throws IOException
+    {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(f), RUN_BUFFER));
+    }
+
+
+    /*****  phase 2: merge passes while there are more than fanIn runs  *****/
+
+    // Replaces each group of fanIn neighbouring runs with one run merged from
+    // them. runs always lists every run file on disk, so run can clean up
+    // after a failure part way through.
+    private void mergePass(ArrayList<File> runs) throws IOException
+    {
+        for(int g = 0; g < runs.size(); ++g)
+        {
+            int len = Math.min(fanIn, runs.size() - g);
+            if (len == 1)
+                continue;
+
+            File f = File.createTempFile("kruskal-run", ".bin", tempDir);
+            runs.add(g, f);
+            List<File> group = runs.subList(g + 1, g + 1 + len);
+            try (RunMerger m = new RunMerger(group); DataOutputStream out = openRun(f))
+            {
+                while(m.advance())
+                {
+                    out.writeInt(m.u);
+                    out.writeInt(m.v);
+                    out.writeInt(m.w);
+                }
+            }
+            // the merger deleted the group's files as it finished each
+            group.clear();
+        }
+    }
+
+
+    /*****  phase 3: k-way merge into the union-find loop  *****/
+
+    private void merge(ArrayList<File> runs) throws IOException
+    {
+        mst = new Edge[Math.max(V - 1, 0)];
+        count = 0;
+        mst_weight = 0;
+        examined = 0;
+
+        UnionFindSets partition = new UnionFindSets(V);
+
+        try (RunMerger m = new RunMerger(runs))
+        {
+            while(count < V - 1 && m.advance())
+            {
+                if (partition.findSet(m.u) != partition.findSet(m.v))
+                {
+                    partition.union(m.u, m.v);
+                    mst[count++] = new Edge(m.u, m.v, m.w);
+                    mst_weight += m.w;
+                }
+                examined++;
+            }
+        }
+    }
+
+
+    // The edges of a list of runs in (weight, run number) order. Each run is
+    // closed and its file deleted as soon as its last edge has been read.
+    private static class RunMerger implements Closeable
+    {
+        private final List<File> runs;
+        private final DataInputStream[] in;
+
+        // head edge of every run that still has one
+        private final int[] hu, hv, hw;
+
+        // min heap of run numbers ordered by (head weight, run number), h[1..size]
+        private final int[] h;
+        private int size;
+        private boolean started;
+
+        // the edge advance moved to
+        int u, v, w;
+
+        RunMerger(List<File> _runs) throws IOException
+        {
+            runs = _runs;
+            int k = runs.size();
+            in = new DataInputStream[k];
+            hu = new int[k];
+            hv = new int[k];
+            hw = new int[k];
+            h = new int[k + 1];
+
+            try
+            {
+                for(int r = 0; r < k; ++r)
+                {
+                    in[r] = new DataInputStream(new BufferedInputStream(new FileInputStream(runs.get(r)), RUN_BUFFER));
+                    if (next(r))
+                    {
+                        h[++size] = r;
+                        siftUp(size);
+                    }
+                }
+            }
+            catch (IOException ex)
+            {
+                close();
+                throw ex;
+            }
+        }
+
+        // Moves to the next edge, false when every run is used up
+        boolean advance() throws IOException
+        {
+            if (started && size > 0)
+            {
+                // replace the root with the run's next edge, or drop the run
+                if (!next(h[1]))
+                    h[1] = h[size--];
+                siftDown(1);
+            }
+            started = true;
+            if (size == 0)
+                return false;
+
+            int r = h[1];
+            u = hu[r];
+            v = hv[r];
+            w = hw[r];
+            return true;
+        }
+
+        // Reads the next edge of run r into its head. At the end of the run
+        // its file is closed and deleted and false is returned.
+        private boolean next(int r) throws IOException
+        {
+            try
+            {
+                hu[r] = in[r].readInt();
+            }
+            catch (EOFException ex)
+            {
+                in[r].close();
+                in[r] = null;
+                runs.get(r).delete();
+                return false;
+            }
+            hv[r] = in[r].readInt();
+            hw[r] = in[r].readInt();
+            return true;
+        }
+
+        public void close() throws IOException
+        {
+            for(int r = 0; r < in.length; ++r)
+                if (in[r] != null)
+                {
+                    in[r].close();
+                    in[r] = null;
+                }
+        }
+
+        private boolean less(int a, int b)
+        {
+            return hw[a] < hw[b] || (hw[a] == hw[b] && a < b);
+        }
+
+        private void siftUp(int k)
+        {
+            int r = h[k];
+            while(k > 1 && less(r, h[k / 2]))
+            {
+                h[k] = h[k / 2];
+                k = k / 2;
+            }
+            h[k] = r;
+        }
+
+        private void siftDown(int k)
+        {
+            int r = h[k], j;
+            while(2 * k <= size)
+            {
+                j = 2 * k;
+                if (j < size && less(h[j + 1], h[j]))
+                    ++j;
+                if (!less(h[j], r))
+                    break;
+                h[k] = h[j];
+                k = j;
+            }
+            h[k] = r;
+        }
+    }
+
+
+    public long weight()
+    {
+        return mst_weight;
+    }
+
+    // The tree (or forest) edges in ascending weight order
+    public Edge[] tree()
+    {
+        return Arrays.copyOf(mst, count);
+    }
+
+    public void showMST()
+    {
+        MSTSinks.progress("Edges examined: " + examined + " of " + E);
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + mst_weight);
+        Edge.show("\nMinimum spanning tree build from following edges:", V, mst, count);
+    }
+
+    public void writeMST(MSTSink out) throws IOException
+    {
+        Edge.write(out, V, mst, count);
+    }
+}
@@ -0,0 +1,146 @@
+// Filter-Kruskal Minimum Spanning Tree Algorithm
+//
+// Like quicksort, the packed edge keys are split around a pivot. The light
+// half is solved first; then every heavy edge whose ends are already in one
+// set of the partition is thrown away before the heavy half is looked at.
+// On dense graphs most heavy edges go this way and are never sorted.
+//
+// Keys are EdgeKeys (weight, index) so ties break exactly as in
+// MST_KruskalSorted and the same tree comes out.
+
+import java.util.Arrays;
+
+class FilterKruskal
+{
+    // ranges this small are sorted and scanned directly
+    private static final int THRESHOLD = 1 << 10;
+    // heavy halves this large are filtered on all cores
+    private static final int PARALLEL_FILTER = 1 << 16;
+
+    private final int V, E;
+    private final int[] eu, ev, ew;
+
+    private UnionFindSets partition;
+    private int[] tree;
+    private int count;
+
+    // Edge e is eu[e]--(ew[e])--ev[e] for e = 1..E, as held by EdgeArrayGraph
+    public FilterKruskal(int _V, int _E, int[] _eu, int[] _ev, int[] _ew)
+    {
+        V = _V;
+        E = _E;
+        eu = _eu;
+        ev = _ev;
+        ew = _ew;
+    }
+
+    // Returns the indices of the spanning tree (or forest) edges in ascending weight order
+    public int[] run()
+    {
+        long[] keys = new long[E];
+        for(int e = 1; e <= E; ++e)
+            keys[e - 1] = EdgeKeys.pack(ew[e], e);
+
+        partition = new UnionFindSets(V);
+        tree = new int[Math.max(V - 1, 0)];
+        count = 0;
+
+        solve(keys, 0, E);
+
+        return Arrays.copyOf(tree, count);
+    }
+
+    // Adds the tree edges among keys[lo..hi-1] in weight order
+    private void solve(long[] keys, int lo, int hi)
+    {
+        while(count < V - 1)
+        {
+            if (hi - lo <= THRESHOLD)
+            {
+                Arrays.sort(keys, lo, hi);
+                kruskal(keys, lo, hi);
+                return;
+            }
+
+            int p = partition(keys, lo, hi);
+
+            // light half first, it has all the edges the heavy half might be compared with
+            solve(keys, lo, p);
+            if (count == V - 1)
+                return;
+
+            // then the heavy half, once the edges it can no longer use are gone
+            lo = p;
+            hi = p + filter(keys, p, hi);
+        }
+    }
+
+    // Plain Kruskal over an already sorted range
+    private void kruskal(long[] keys, int lo, int hi)
+    {
+        int e, u, v;
+
+        for(int k = lo; k < hi && count < V - 1; ++k)
+        {
+            e = EdgeKeys.index(keys[k]);
+            u = eu[e];
+            v = ev[e];
+
+            if (partition.findSet(u) != partition.findSet(v))
+            {
+                partition.union(u, v);
+                tree[count++] = e;
+            }
+        }
+    }
+
+    // Moves keys below a median of three pivot to the front of the range and returns
+    // where the rest start. Keys are all different, so neither side is ever empty.
+    private static int partition(long[] keys, int lo, int hi)
+    {
+        long a = keys[lo], b = keys[(lo + hi) >>> 1], c = keys[hi - 1];
+        long pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        int i = lo, j = hi - 1;
+        long t;
+
+        while(i <= j)
+        {
+            if (keys[i] < pivot)
+                ++i;
+            else
+            {
+                t = keys[i];
+                keys[i] = keys[j];
+                keys[j] = t;
+                --j;
+            }
+        }
+        return i;
+    }
+
+    // Compacts the keys in [lo, hi) that still join two sets to the front of
+    // the range and returns how many there are. Only reads the partition,
+    // so large ranges are checked in parallel.
+    private int filter(long[] keys, int lo, int hi)
+    {
+        if (hi - lo >= PARALLEL_FILTER)
+        {
+            long[] kept = Arrays.stream(keys, lo, hi).parallel()
+                                .filter(k -> crosses(EdgeKeys.index(k)))
+                                .toArray();
+            System.arraycopy(kept, 0, keys, lo, kept.length);
+            return kept.length;
+        }
+
+        int n = lo;
+        for(int k = lo; k < hi; ++k)
+            if (crosses(EdgeKeys.index(keys[k])))
+                keys[n++] = keys[k];
+        return n - lo;
+    }
+
+    private boolean crosses(int e)
+    {
+        return partition.findRoot(eu[e]) != partition.findRoot(ev[e]);
+    }
+}
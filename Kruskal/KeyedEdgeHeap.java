@@ -0,0 +1,68 @@
+// Binary heap of edge numbers for the long and double weight Kruskals
+//
+// Everything but the comparison of two weights: the bottom up build, remove
+// and the sift with its metrics. LongEdgeHeap and DoubleEdgeHeap give
+// less() over their own weight array and call heapify() once it is set, so
+// a fix to the heap is made once here for both.
+
+abstract class KeyedEdgeHeap
+{
+    private int[] h;       // edge numbers, h[1..N]
+    private int N;
+
+    // Holds edges 1..n, in no order until heapify()
+    protected KeyedEdgeHeap(int n)
+    {
+        N = n;
+        h = new int[n + 1];
+        for(int k = 1; k <= n; ++k)
+            h[k] = k;
+    }
+
+    // true when edge a is lighter than edge b
+    protected abstract boolean less(int a, int b);
+
+    // Bottom up heap construction, O(n)
+    protected void heapify()
+    {
+        for(int k = N / 2; k >= 1; --k)
+            siftDown(k);
+    }
+
+    public boolean isEmpty()
+    {
+        return N == 0;
+    }
+
+    public int remove()
+    {
+        int e = h[1];
+        h[1] = h[N--];
+        if (N > 0)
+            siftDown(1);
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.remove();
+        return e;
+    }
+
+    private void siftDown(int k)
+    {
+        int e = h[k], j;
+        int levels = 0;
+
+        while(2 * k <= N)
+        {
+            j = 2 * k;
+            if (j < N && less(h[j + 1], h[j]))
+                ++j;
+            if (!less(h[j], e))
+                break;
+            h[k] = h[j];
+            k = j;
+            ++levels;
+        }
+        h[k] = e;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.siftDown(levels);
+    }
+}
@@ -0,0 +1,48 @@
+// Kruskal's algorithm with long edge weights
+//
+// The EdgeArrayGraph of KruskalTrees over long weights. Edges are held in
+// primitive arrays, eu[e]--(ew[e])--ev[e], the heap holds edge numbers
+// keyed on ew[] instead of Edge objects, and the tree weight is a
+// LongWeightSum, so totals such as latencies in microseconds cannot
+// overflow. No weight is ever boxed.
+//
+// The heap (KeyedEdgeHeap) and the union-find (UnionFindSets) are shared
+// with KruskalDouble; only the parts that compare or add weights are
+// written out for each type.
+
+import java.io.*;
+import java.util.ArrayList;
+
+public class KruskalLong
+{
+    // java KruskalLong [graph file], with -silent and -out FILE as for KruskalTrees
+    public static void main(String[] args) throws IOException
+    {
+        ArrayList<String> rest = new ArrayList<String>();
+        String outFile = null;
+        for(int i = 0; i < args.length; ++i)
+        {
+            if (args[i].equals("-silent"))
+                MSTSinks.silent = true;
+            else if (args[i].equals("-out"))
+                outFile = args[++i];
+            else
+                rest.add(args[i]);
+        }
+        String fname = rest.size() > 0 ? rest.get(0) : "myGraph.txt";
+
+        LongEdgeGraph g = new LongEdgeGraph(fname, false);
+        g.MST_Kruskal();
+        g.showMST();
+
+        if (outFile != null)
+        {
+            try (MSTSink out = MSTSinks.forFile(outFile))
+            {
+                g.writeMST(out);
+            }
+        }
+        if (MSTMetrics.ENABLED)
+            System.out.print("\n" + MSTMetrics.snapshot());
+    }
+}
@@ -1,400 +1,263 @@
 // Kruskal's Minimum Spanning Tree Algorithm
-// Union-find implemented using disjoint set trees without compression
+// Union-find implemented using disjoint set trees with union by rank and path halving
 
 /**Name: Michael Lenghel
    Student Number: c16434974
     */
 
 import java.io.*;    
- 
-class Edge 
-{
-    public int u, v, wgt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
-    //Constructor to initialise edge components to zero
-    public Edge() 
-    {
-        u = 0;
-        v = 0;
-        wgt = 0;
-    }
-
-    public Edge(int x, int y, int w)
-     {
-        u = x;
-        v = y;
-        wgt = w;
-    }
-    
-    public void show() 
-    {
-        System.out.print("Edge " + toChar(u) + "--" + wgt + "--" + toChar(v) + "\n") ;
-    }
-
-    public void showWeight() 
-    {
-        System.out.println(wgt) ;
-    }
-
-    //We need this when printing out the tree structure of the heap
-    public void showWeightWOSpace() 
-    {
-         System.out.print(wgt + "  ");
-    }
-    
-    // convert vertex into char for pretty printing
-    private char toChar(int u)
-    {  
-        return (char)(u + 64);
-    }
-
-    //Accessor methods
-    public int getOrigin()
-    {
-        return u;
-    }
-    public int getDest()
-    {
-        return v;
-    }
-    public int getWeight()
-    {
-        return wgt;
-    }
-
-    //Set the weight
-    public static Edge setValues(int _u, int _v, int weight)
-    {
-        Edge e = new Edge(_u, _v, weight);
-        return e;
-    }
-}
-
-
-class Heap
-{
-	private Edge[] h;
-    int N, Nmax;
-    Edge[] edge;
-
-
-    // Bottom up heap construc
-    public Heap(int _N, Edge[] _edge) 
+    // test code
+class KruskalTrees {
+    // optional argument picks the engine: heap (default), sort, boruvka, filter
+    // or stream, which reads the file in one pass and never builds the EdgeArrayGraph, or
+    // external [chunk edges] [temp dir] [fan in], which sorts the file in runs on disk,
+    // or check [graphs] [seed], which compares the engines with a brute force Kruskal
+    // -silent anywhere turns off all progress output and -out FILE writes the tree to FILE (.txt, .csv or .bin)
+    // -lists loads the graph as GraphLists and runs the engine on its edges
+    public static void main(String[] args) throws IOException
     {
-        int i;
-        Nmax = _N;
-        N = 0;
-        h = new Edge[Nmax+1];
-        edge = _edge;
-
-        //Insert each edge into the heap
-        while(N != Nmax)
+        String fname = "myGraph.txt";
+        ArrayList<String> rest = new ArrayList<String>();
+        String outFile = null;
+        boolean lists = false;
+        for(int i = 0; i < args.length; ++i)
         {
-           N++;
-           //The array in the heap will hold the weight
-           h[N] = edge[N];
-           siftUp(N);
+            if (args[i].equals("-silent"))
+                MSTSinks.silent = true;
+            else if (args[i].equals("-out"))
+                outFile = args[++i];
+            else if (args[i].equals("-lists"))
+                lists = true;
+            else
+                rest.add(args[i]);
         }
-    }
+        String engine = rest.size() > 0 ? rest.get(0) : "heap";
 
-    public void siftUp( int k) 
-    {
-       Edge v = edge[k];
-       h[0] = Edge.setValues(0, 0, Integer.MIN_VALUE);
-
-       while( v.getWeight() <= h[k / 2].getWeight() ) 
-       {
-          h[k] = h[k / 2];
-          k = k / 2;
-       }
-       //Compelte the swap
-       h[k] = v;
-    }
-
-    private void siftDown( int k) {
-        Edge v, j;
-
-        //Assign the value we will be sifting down
-        v = h[k];
-
-        //If N <=2, then we have no need to check h[(k * 2) + 1], which from the getgo will check a value at N == 3
-        if (N <= 2) 
+        if (engine.equals("check"))
+        {
+            int graphs = rest.size() > 1 ? Integer.parseInt(rest.get(1)) : 500;
+            long seed = rest.size() > 2 ? Long.parseLong(rest.get(2)) : 1;
+            int failures = check(graphs, seed);
+            System.out.println(graphs + " random graphs checked, " + failures + " failures");
+            if (failures > 0)
+                System.exit(1);
+            return;
+        }
+        if (engine.equals("stream"))
         {
-            if( v.getWeight() >= h[k * 2].getWeight() )
+            StreamingMST s = StreamingMST.run(fname, false);
+            s.showMST();
+            if (outFile != null)
             {
-                h[k] = h[k * 2];
-                k = k * 2;
+                try (MSTSink out = MSTSinks.forFile(outFile))
+                {
+                    s.writeMST(out);
+                }
             }
-            h[k] = v;
             return;
         }
-
-        //While loop iterates through both sides of the heap rather than just the child to the left
-        while( v.getWeight() >= h[k * 2].getWeight() || v.getWeight() >= h[(k * 2) + 1].getWeight() ) 
+        if (engine.equals("external"))
         {
-            if (h[k * 2].getWeight() <=  h[k * 2 + 1].getWeight())
+            int chunk = rest.size() > 1 ? Integer.parseInt(rest.get(1)) : ExternalKruskal.DEFAULT_CHUNK;
+            File tempDir = rest.size() > 2 ? new File(rest.get(2)) : null;
+            int fanIn = rest.size() > 3 ? Integer.parseInt(rest.get(3)) : ExternalKruskal.DEFAULT_FAN_IN;
+            ExternalKruskal x = new ExternalKruskal(chunk, fanIn, tempDir);
+            x.run(fname, false);
+            x.showMST();
+            if (outFile != null)
             {
-                h[k] = h[k * 2];
-                k = k * 2;
+                try (MSTSink out = MSTSinks.forFile(outFile))
+                {
+                    x.writeMST(out);
+                }
             }
+            return;
+        }
 
-            else
-            {
-                h[k] = h[(k * 2) + 1];
-                k = (k * 2) + 1;
-            }
+        EdgeArrayGraph g = lists ? new EdgeArrayGraph(new GraphLists(fname, false)) : new EdgeArrayGraph(fname);
 
-            //Don't go out of bounds on (k * 2 + 1), but still swap with k * 2 if it's not out of bounds
-            if ((k * 2 + 1) > N && k * 2 <= N) 
-            {
-                h[k] = h[k * 2];
-                k = k * 2;
-                //Last swap has been done -> Break to not try to check h[k * 2 + 1], as it will break
-                break;
-            }//end if
+        if (engine.equals("sort"))
+            g.MST_KruskalSorted();
+        else if (engine.equals("boruvka"))
+            g.MST_Boruvka();
+        else if (engine.equals("filter"))
+            g.MST_FilterKruskal();
+        else
+            g.MST_Kruskal();
 
-            //Need this, as if we don't have it at the bottom, when we re-enter the while it will break.
-            if (k * 2 > N) 
+        g.showMST();
+        if (outFile != null)
+        {
+            try (MSTSink out = MSTSinks.forFile(outFile))
             {
-                break;
+                g.writeMST(out);
             }
-        }//end while
-        //Assign the final element
-        h[k] = v;
-    }//end while
-
+        }
 
-    public Edge remove() {
-        Edge temp = h[1];
-        h[1] = h[N--];
-        siftDown(1);
-        return temp;
+        // -Dmst.metrics=true shows where the time went
+        if (MSTMetrics.ENABLED)
+            System.out.print(MSTMetrics.snapshot());
     }
 
-    public void display() 
-    {
-       System.out.println("\n\nThe tree structure of the heaps is:");
-       h[1].showWeight();
-       for(int i = 1; i<= N/2; i = i * 2) 
-       {
-          for(int j = 2*i; j < 4*i && j <= N; ++j)
-             h[j].showWeightWOSpace(); 
-           System.out.println();
-       }
-    }
 
-    public boolean isEmpty()
+    /**********************************************************
+    *
+    *       Self check on random graphs
+    *
+    *       Up to 60 vertices, often disconnected, with self
+    *       loops, parallel edges, tied and negative weights.
+    *       Part of each graph is loaded and the rest added one
+    *       edge at a time, and after every addEdge the total is
+    *       compared with bruteForce; then heap, sort, filter and
+    *       Boruvka run on the whole graph. The graph is also
+    *       written to a temporary file for ExternalKruskal, with
+    *       runs of one to four edges merged two at a time, so
+    *       most graphs take several merge passes, and for
+    *       StreamingMST, once as generated and once cut into
+    *       chunks sorted by weight that arrive heaviest first,
+    *       so nearly every edge read evicts a tree edge.
+    *       Returns the failures.
+    *
+    **********************************************************/
+    static int check(int graphs, long seed) throws IOException
     {
-      //Gets a big number at the end as a[0] is the biggest no.
-        return (N == 0);
-    }
-}
-
-/****************************************************
-*
-*       UnionFind partition to support union-find operations
-*       Implemented simply using Discrete Set Trees
-*
-*****************************************************/
+        SplittableRandom r = new SplittableRandom(seed);
+        boolean wasSilent = MSTSinks.silent;
+        int failures = 0;
+        File file = null;
 
-class UnionFindSets
-{
-    private int[] treeParent;
-    private int N;
-    
-    public UnionFindSets( int V)
-    {
-        N = V;
-        treeParent = new int[V+1];
-        //Sooo, make sets for each vertex. ( ie {A}, {B}, {C}, {D}, {E}, {F}, {G}) and have them point to themselves )
-                            //Represented as 1 is A, 2 is B... etc
-        for(int i = 1; i < treeParent.length - 1; i++)
+        MSTSinks.silent = true;
+        try
         {
-            treeParent[i] = i;
+            file = File.createTempFile("kruskal-check", ".txt");
+            for(int n = 0; n < graphs; ++n)
+            {
+                int V = 1 + r.nextInt(60);
+                int E = r.nextInt(3 * V + 1);
+                int maxW = r.nextBoolean() ? 3 : 1000;
+                int loaded = r.nextInt(E + 1);
+                int[] u = new int[E], v = new int[E], w = new int[E];
+                EdgeList el = new EdgeList(V, loaded);
+
+                for(int e = 0; e < E; ++e)
+                {
+                    u[e] = 1 + r.nextInt(V);
+                    v[e] = 1 + r.nextInt(V);
+                    w[e] = r.nextInt(-maxW / 4, maxW + 1);
+                    if (e < loaded)
+                    {
+                        el.u[e] = u[e];
+                        el.v[e] = v[e];
+                        el.wgt[e] = w[e];
+                    }
+                }
+
+                String what = "graph " + n + " (V=" + V + ", E=" + E + ")";
+                EdgeArrayGraph g = new EdgeArrayGraph(el);
+                for(int e = loaded; e < E; ++e)
+                {
+                    g.addEdge(u[e], v[e], w[e]);
+                    failures += compare(what + " addEdge " + (e + 1), g.mstWeight(), bruteForce(V, e + 1, u, v, w));
+                }
+
+                long expect = bruteForce(V, E, u, v, w);
+                g.MST_Kruskal();
+                failures += compare(what + " heap", g.mstWeight(), expect);
+                g.MST_KruskalSorted();
+                failures += compare(what + " sort", g.mstWeight(), expect);
+                g.MST_FilterKruskal();
+                failures += compare(what + " filter", g.mstWeight(), expect);
+                g.MST_Boruvka();
+                failures += compare(what + " boruvka", g.mstWeight(), expect);
+
+                writeGraph(file, V, E, u, v, w, null);
+                ExternalKruskal x = new ExternalKruskal(1 + n % 4, 2, null);
+                x.run(file.getPath(), true);
+                failures += compare(what + " external", x.weight(), expect);
+
+                failures += compare(what + " stream", StreamingMST.run(file.getPath(), true).weight(), expect);
+                writeGraph(file, V, E, u, v, w, heaviestChunksFirst(E, w, 1 + n % 5));
+                failures += compare(what + " stream, heavy chunks first", StreamingMST.run(file.getPath(), true).weight(), expect);
+            }
         }
-    }
-
-    public int findSet( int vertex)
-    {   
-        //Initally each element points to itself, then will point to each other, until the minimum spanning tree is created.
-        if (treeParent[vertex] == vertex) 
+        finally
         {
-            return vertex;
+            MSTSinks.silent = wasSilent;
+            if (file != null)
+                file.delete();
         }
-        return findSet(treeParent[vertex]);
-    }
-    
-    //Combines two sets
-    public void union( int set1, int set2)
-    {
-        int sx = findSet(set1);
-        int sy = findSet(set2);
-        //Let the element from origin point to the destination
-        treeParent[sx] = sy;
-    }
-    
-    public void showTrees()
-    {
-        int i;
-        for(i=1; i<=N; ++i)
-            System.out.print(toChar(i) + "->" + toChar(treeParent[i]) + "  " );
-        System.out.print("\n");
-    }
-    
-    public void showSets()
-    {
-        int u, root;
-        int[] shown = new int[N+1];
-        for (u=1; u<=N; ++u)
-        {   
-            root = findSet(u);
-            if(shown[root] != 1) {
-                showSet(root);
-                shown[root] = 1;
-            }            
-        }   
-        System.out.print("\n");
+        return failures;
     }
 
-    private void showSet(int root)
+    // An order of the edges in chunks of the given size, each chunk in
+    // ascending weight but the chunks from the heaviest down
+    private static int[] heaviestChunksFirst(int E, int[] w, int chunk)
     {
-        int v;
-        System.out.print("Set{");
-        for(v=1; v<=N; ++v)
-            if(findSet(v) == root)
-                System.out.print(toChar(v) + " ");
-        System.out.print("}  ");
-    
-    }
-    
-    private char toChar(int u)
-    {  
-        return (char)(u + 64);
+        Integer[] byWeight = new Integer[E];
+        int[] order = new int[E];
+        int k = 0;
+
+        for(int e = 0; e < E; ++e)
+            byWeight[e] = e;
+        Arrays.sort(byWeight, (a, b) -> Integer.compare(w[a], w[b]));
+        for(int start = (E - 1) / chunk * chunk; start >= 0; start -= chunk)
+            for(int i = start; i < Math.min(start + chunk, E); ++i)
+                order[k++] = byWeight[i];
+        return order;
     }
-}
-
-class Graph 
-{ 
-    //Number of vertices and edges
-    private int V, E;
-    private Edge[] edge;
-    private Edge[] mst;        
 
-    public Graph(String graphFile) throws IOException
+    // Writes the edges as a graph file, in the order given or as they are
+    // when order is null
+    private static void writeGraph(File f, int V, int E, int[] u, int[] v, int[] w, int[] order) throws IOException
     {
-        int u, v;
-        int w, e;
-
-        FileReader fr = new FileReader(graphFile);
-		BufferedReader reader = new BufferedReader(fr);
-	           
-        String splits = " +";  // multiple whitespace as delimiter
-		String line = reader.readLine(); 
-        //split is a handy way of spliting substrings into components using a delimter       
-        String[] parts = line.split(splits);
-        System.out.println("Parts[] = " + parts[0] + " " + parts[1]);
-        
-        //We read it from the file, so with parseInt we convert it to an integer
-        V = Integer.parseInt(parts[0]);
-        E = Integer.parseInt(parts[1]);
-        
-        // create edge array
-        edge = new Edge[E+1];   
-        
-        // read the edges
-        System.out.println("Reading edges from text file");
-        for(e = 1; e <= E; ++e)
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(f)))
         {
-            line = reader.readLine();
-            parts = line.split(splits);
-            u = Integer.parseInt(parts[0]);
-            v = Integer.parseInt(parts[1]); 
-            w = Integer.parseInt(parts[2]);
-            
-            System.out.println("Edge " + toChar(u) + "--(" + w + ")--" + toChar(v));                         
-             
-            // create Edge object, for each edge we are storing its origin, "destination" and weight
-            edge[e] = new Edge(u, v, w);
-            //reference with edge[e].show();
-        }        
-    }
-
-
-    /**********************************************************
-    *
-    *       Kruskal's minimum spanning tree algorithm
-    *
-    **********************************************************/
-    public void MST_Kruskal() 
-    {
-        int mst_weight = 0, ei = 0, edge_counter = 0;
-        Edge e, uSet, vSet;
-        
-        // create edge array to store MST
-        // Initially it has no edges.
-        mst = new Edge[V-1];
-
-        // priority queue for indices of array of edges
-        Heap h = new Heap(E, edge);
-
-        h.display();
-
-        //create partition of singleton sets for the vertices 
-        UnionFindSets partition = new UnionFindSets(V);
-
-        //Over here we return the minimum edge, check to see in which set x exists ( find_Set(x) ) ? and if it does we apply a union, then add it to the tree
-
-        //Break loop once reach no. of vertices or if we pass the number of edges
-        while(mst.length < V - 1 || edge_counter < E - 1)
-        {
-            //Gets the edge
-            e = h.remove();
-
-            //If this set is not equal to that set, then we can join the sets and add the to the minimum spanning tree
-            if(partition.findSet(e.getOrigin()) != partition.findSet(e.getDest()))
+            out.write(V + " " + E + "\n");
+            for(int k = 0; k < E; ++k)
             {
-                //Each time called - 1 set created, 2 sets destroyed
-                partition.union(e.getOrigin(), e.getDest());
-                mst_weight += e.getWeight();
-                mst[ei] = e;
-                ei++;
+                int e = order == null ? k : order[k];
+                out.write(u[e] + " " + v[e] + " " + w[e] + "\n");
             }
-            //Increase the index if the edge
-            edge_counter++;
         }
-        System.out.println("Minimum weight of the spanning tree is: " + mst_weight);
-    }
-
-
-    // convert vertex into char for pretty printing
-    private char toChar(int u)
-    {  
-        return (char)(u + 64);
     }
 
-    public void showMST()
+    private static int compare(String what, long got, long expect)
     {
-        System.out.print("\nMinimum spanning tree build from following edges:\n");
-        for(int e = 0; e < V-1; ++e) {
-            mst[e].show(); 
-        }
-        System.out.println();
+        if (got == expect)
+            return 0;
+        System.out.println("FAIL " + what + ": " + got + ", brute force " + expect);
+        return 1;
     }
-} // end of Graph class
-    
-    // test code
-class KruskalTrees {
-    public static void main(String[] args) throws IOException
-    {
-        String fname = "myGraph.txt";
 
-        Graph g = new Graph(fname);
+    // Weight of the minimum spanning forest of the first E edges, by Kruskal
+    // at its plainest: every vertex carries its component's label and a join
+    // relabels the whole of one side
+    private static long bruteForce(int V, int E, int[] u, int[] v, int[] w)
+    {
+        Integer[] order = new Integer[E];
+        int[] comp = new int[V + 1];
+        long sum = 0;
 
-        g.MST_Kruskal();
+        for(int e = 0; e < E; ++e)
+            order[e] = e;
+        Arrays.sort(order, (a, b) -> Integer.compare(w[a], w[b]));
+        for(int x = 1; x <= V; ++x)
+            comp[x] = x;
 
-        g.showMST();
-        
+        for(int e : order)
+        {
+            int cu = comp[u[e]], cv = comp[v[e]];
+            if (cu == cv)
+                continue;
+            sum += w[e];
+            for(int x = 1; x <= V; ++x)
+                if (comp[x] == cv)
+                    comp[x] = cu;
+        }
+        return sum;
     }
-}    
-
-
+}
@@ -0,0 +1,19 @@
+// Binary heap of edge numbers keyed on a long[] of weights, for KruskalLong
+
+class LongEdgeHeap extends KeyedEdgeHeap
+{
+    private long[] w;      // w[e] = weight of edge e
+
+    // Bottom up heap construction over edges 1..n, O(n)
+    public LongEdgeHeap(int n, long[] _w)
+    {
+        super(n);
+        w = _w;
+        heapify();
+    }
+
+    protected boolean less(int a, int b)
+    {
+        return w[a] < w[b];
+    }
+}
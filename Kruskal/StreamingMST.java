@@ -0,0 +1,97 @@
+// Semi-streaming Minimum Spanning Tree
+//
+// Reads the edge file once, through EdgeListLoader.scan, and keeps nothing
+// but the current spanning forest in a DynamicMST. Each edge either joins
+// two trees or closes a cycle, and then the heaviest edge on that cycle is
+// dropped (the cycle property), so memory is O(V) however many edges the
+// file has.
+//
+// Edge e of the file (counting from 1) has EdgeKeys key (weight, e), the
+// order MST_KruskalSorted uses, so the same tree comes out. Files of more
+// than 2^31 - 1 edges give every later edge the last index; the weight is
+// still minimum but ties among those edges may pick another tree.
+
+import java.io.*;
+import java.util.Arrays;
+
+class StreamingMST
+{
+    private int V;
+    private long E;
+    private DynamicMST forest;
+    private int[] su, sv;
+
+    private StreamingMST()
+    {
+    }
+
+    public static StreamingMST run(String graphFile, boolean quiet) throws IOException
+    {
+        final StreamingMST s = new StreamingMST();
+
+        EdgeListLoader.scan(graphFile, quiet, new EdgeVisitor() {
+            private long e = 0;
+
+            public void header(int V, long E)
+            {
+                s.V = V;
+                s.E = E;
+                s.forest = new DynamicMST(V);
+                s.su = new int[Math.max(V - 1, 0)];
+                s.sv = new int[Math.max(V - 1, 0)];
+            }
+
+            public void edge(int u, int v, int wgt)
+            {
+                if (e < Integer.MAX_VALUE)
+                    ++e;
+                int slot = s.forest.insert(u, v, EdgeKeys.pack(wgt, (int) e));
+                if (slot >= 0)
+                {
+                    s.su[slot] = u;
+                    s.sv[slot] = v;
+                }
+            }
+        });
+        return s;
+    }
+
+    public long weight()
+    {
+        return forest.weight();
+    }
+
+    // The tree (or forest) edges in ascending weight order
+    public Edge[] tree()
+    {
+        int n = su.length, count = 0, i;
+        long[] keys = new long[n];
+
+        // slot number goes in the low bits in place of the edge index
+        for(i = 0; i < n; ++i)
+            if (su[i] != 0)
+                keys[count++] = (forest.slotKey(i) & 0xFFFFFFFF00000000L) | i;
+        Arrays.sort(keys, 0, count);
+
+        Edge[] tree = new Edge[count];
+        for(i = 0; i < count; ++i)
+        {
+            int slot = EdgeKeys.index(keys[i]);
+            tree[i] = new Edge(su[slot], sv[slot], EdgeKeys.weight(keys[i]));
+        }
+        return tree;
+    }
+
+    public void showMST()
+    {
+        Edge[] t = tree();
+        MSTSinks.progress("Minimum weight of the spanning tree is: " + weight());
+        Edge.show("\nMinimum spanning tree build from following edges:", V, t, t.length);
+    }
+
+    public void writeMST(MSTSink out) throws IOException
+    {
+        Edge[] t = tree();
+        Edge.write(out, V, t, t.length);
+    }
+}
@@ -0,0 +1,178 @@
+/****************************************************
+*
+*       UnionFind partition to support union-find operations
+*       Implemented using Disjoint Set Trees
+*
+*       In the default mode union is by rank and finds
+*       halve the path they walk, giving near constant
+*       amortized finds. The simple mode links the first
+*       set under the second and never restructures.
+*       Both modes are iterative so deep trees cannot
+*       overflow the stack.
+*
+*****************************************************/
+
+import java.io.*;
+
+class UnionFindSets
+{
+    private int[] treeParent;
+    private int[] rank;        // upper bound on tree height, only kept when compressing
+    private int N;
+    private boolean compress;
+    
+    public UnionFindSets( int V)
+    {
+        this(V, true);
+    }
+
+    public UnionFindSets( int V, boolean _compress)
+    {
+        N = V;
+        compress = _compress;
+        treeParent = new int[V+1];
+        if (compress)
+            rank = new int[V+1];
+        //Sooo, make sets for each vertex. ( ie {A}, {B}, {C}, {D}, {E}, {F}, {G}) and have them point to themselves )
+                            //Represented as 1 is A, 2 is B... etc
+        for(int i = 1; i <= V; i++)
+        {
+            treeParent[i] = i;
+        }
+    }
+
+    public int findSet( int vertex)
+    {   
+        //Initally each element points to itself, then will point to each other, until the minimum spanning tree is created.
+        int p;
+        int steps = 0;
+
+        if (!compress)
+        {
+            while (treeParent[vertex] != vertex) 
+            {
+                vertex = treeParent[vertex];
+                ++steps;
+            }
+            if (MSTMetrics.ENABLED)
+                MSTMetrics.find(steps);
+            return vertex;
+        }
+
+        //Path halving: point every other node on the way up at its grandparent
+        while ((p = treeParent[vertex]) != vertex)
+        {
+            treeParent[vertex] = treeParent[p];
+            vertex = treeParent[p];
+            steps += vertex == p ? 1 : 2;
+        }
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.find(steps);
+        return vertex;
+    }
+    
+    //Same answer as findSet but never writes, so many threads may call it
+    //at once as long as no thread is doing a union
+    public int findRoot( int vertex)
+    {
+        while (treeParent[vertex] != vertex) 
+            vertex = treeParent[vertex];
+        return vertex;
+    }
+    
+    //Combines two sets
+    public void union( int set1, int set2)
+    {
+        int sx = findSet(set1);
+        int sy = findSet(set2);
+
+        if (sx == sy)
+            return;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.union();
+
+        //Simple mode: let the element from origin point to the destination
+        if (!compress)
+        {
+            treeParent[sx] = sy;
+            return;
+        }
+
+        //Hang the shallower tree under the deeper one
+        if (rank[sx] < rank[sy])
+            treeParent[sx] = sy;
+        else if (rank[sx] > rank[sy])
+            treeParent[sy] = sx;
+        else
+        {
+            treeParent[sx] = sy;
+            rank[sy]++;
+        }
+    }
+    
+    //Each vertex below the root of its tree, as "B -> A", through the console sink
+    public void showTrees()
+    {
+        if (MSTSinks.silent)
+            return;
+        int[] parent = new int[N+1];
+        for (int u=1; u<=N; ++u)
+            if (treeParent[u] != u)
+                parent[u] = treeParent[u];
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.parents(N, parent);
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    //Groups the vertices by root in one pass (a counting sort on the roots)
+    //and writes the sets in order of their first member on one line
+    public void showSets()
+    {
+        if (MSTSinks.silent)
+            return;
+        int u, root, i;
+        int[] rootOf = new int[N+1];
+        int[] start = new int[N+2];
+        int[] members = new int[N];
+
+        for (u=1; u<=N; ++u)
+        {
+            rootOf[u] = findSet(u);
+            start[rootOf[u] + 1]++;
+        }
+        for (u=1; u<=N+1; ++u)
+            start[u] += start[u-1];
+
+        //members of root r end up in members[start[r] .. start[r+1]-1], ascending
+        int[] fill = start.clone();
+        for (u=1; u<=N; ++u)
+            members[fill[rootOf[u]]++] = u;
+
+        StringBuilder line = new StringBuilder();
+        for (u=1; u<=N; ++u)
+        {   
+            root = rootOf[u];
+            //u is the first member of its set
+            if (members[start[root]] == u)
+            {
+                line.append("Set{");
+                for (i = start[root]; i < start[root+1]; ++i)
+                    line.append(MSTSinks.label(N, members[i])).append(' ');
+                line.append("}  ");
+            }
+        }   
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note(line.toString());
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
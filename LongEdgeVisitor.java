@@ -0,0 +1,10 @@
+// Receives the header and then each edge, with its weight read as long,
+// in file order as it is parsed, for EdgeListLoader.scanLong
+
+import java.io.*;
+
+interface LongEdgeVisitor
+{
+    void header(int V, long E) throws IOException;
+    void edge(int u, int v, long wgt) throws IOException;
+}
@@ -0,0 +1,50 @@
+// Total of long weights for the long weight variants of the MST programs
+//
+// A tree of V-1 long weights can add up to more than a long holds, so the
+// total is kept in 128 bits, two longs, and only turned into a BigInteger
+// when asked. It is a few primitive operations per add and allocates
+// nothing, so it can sit in the MST loops.
+
+import java.math.BigInteger;
+
+final class LongWeightSum
+{
+    private long hi, lo;
+
+    void add(long w)
+    {
+        long sum = lo + w;
+        // w sign extended to 128 bits is (w >> 63, w); carry out of the low half
+        hi += (w >> 63) + (Long.compareUnsigned(sum, lo) < 0 ? 1 : 0);
+        lo = sum;
+    }
+
+    void reset()
+    {
+        hi = lo = 0;
+    }
+
+    // true while the total fits in a long
+    boolean fitsLong()
+    {
+        return hi == (lo >> 63);
+    }
+
+    // The total, which must fit in a long
+    long longValue()
+    {
+        if (!fitsLong())
+            throw new ArithmeticException("Total weight " + value() + " does not fit in a long");
+        return lo;
+    }
+
+    BigInteger value()
+    {
+        return BigInteger.valueOf(hi).shiftLeft(64).add(new BigInteger(Long.toUnsignedString(lo)));
+    }
+
+    public String toString()
+    {
+        return fitsLong() ? String.valueOf(lo) : value().toString();
+    }
+}
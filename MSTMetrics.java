@@ -0,0 +1,204 @@
+// Counters, timers and JDK Flight Recorder events for the MST programs
+//
+// Counting is switched on with -Dmst.metrics=true. ENABLED is a static final
+// constant, so with it off the JIT folds every "if (MSTMetrics.ENABLED)"
+// away and the heap and union-find loops run exactly as before.
+//
+// With it on, the heaps count sifts and the levels they move, union-find
+// counts finds, the length of the paths they walk and unions, and every
+// phase of a run adds its time to a named timer. Counters are LongAdders so
+// the parallel engines can share them. snapshot() returns a copy of them all.
+//
+// Phases are also MSTPhaseEvents, and runs MSTRunEvents, which cost nothing
+// unless a flight recording has them enabled, whatever mst.metrics says:
+//     java -XX:StartFlightRecording=filename=mst.jfr,settings=profile ...
+//     jfr print --events mst.Phase,mst.Run mst.jfr
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+final class MSTMetrics
+{
+    static final boolean ENABLED = Boolean.getBoolean("mst.metrics");
+
+    private static final LongAdder siftUps = new LongAdder();
+    private static final LongAdder siftUpLevels = new LongAdder();
+    private static final LongAdder siftDowns = new LongAdder();
+    private static final LongAdder siftDownLevels = new LongAdder();
+    private static final LongAdder removes = new LongAdder();
+    private static final LongAdder finds = new LongAdder();
+    private static final LongAdder findSteps = new LongAdder();
+    private static final LongAccumulator longestFind = new LongAccumulator(Math::max, 0);
+    private static final LongAdder unions = new LongAdder();
+
+    // nanoseconds spent in each "algorithm.phase"
+    private static final ConcurrentHashMap<String, LongAdder> phaseNanos = new ConcurrentHashMap<String, LongAdder>();
+
+    private MSTMetrics()
+    {
+    }
+
+    // Only to be called when ENABLED
+    static void siftUp(int levels)
+    {
+        siftUps.increment();
+        siftUpLevels.add(levels);
+    }
+
+    static void siftDown(int levels)
+    {
+        siftDowns.increment();
+        siftDownLevels.add(levels);
+    }
+
+    static void remove()
+    {
+        removes.increment();
+    }
+
+    // steps is the number of parent links the find followed
+    static void find(int steps)
+    {
+        finds.increment();
+        findSteps.add(steps);
+        longestFind.accumulate(steps);
+    }
+
+    static void union()
+    {
+        unions.increment();
+    }
+
+    // Adds nanos to the timer of algorithm.phase, for work timed outside a phase
+    static void time(String algorithm, String phase, long nanos)
+    {
+        phaseNanos.computeIfAbsent(algorithm + "." + phase, k -> new LongAdder()).add(nanos);
+    }
+
+
+    /*****  phases  *****/
+
+    // Starts timing a phase; pass the result to end
+    static MSTPhaseEvent begin(String algorithm, String phase)
+    {
+        MSTPhaseEvent ev = new MSTPhaseEvent();
+        ev.algorithm = algorithm;
+        ev.phase = phase;
+        ev.started = System.nanoTime();
+        ev.begin();
+        return ev;
+    }
+
+    static void end(MSTPhaseEvent ev)
+    {
+        ev.end();
+        if (ENABLED)
+            time(ev.algorithm, ev.phase, System.nanoTime() - ev.started);
+        if (ev.shouldCommit())
+            ev.commit();
+    }
+
+    // Marks the start of a whole run; pass the result to endRun
+    static MSTRunEvent beginRun(String algorithm)
+    {
+        MSTRunEvent ev = new MSTRunEvent();
+        ev.algorithm = algorithm;
+        ev.before = ENABLED ? snapshot() : null;
+        ev.begin();
+        return ev;
+    }
+
+    // Records the counts of the run, the difference from the start, if counting is on
+    static void endRun(MSTRunEvent ev, long treeWeight)
+    {
+        ev.end();
+        if (!ev.shouldCommit())
+            return;
+        ev.treeWeight = treeWeight;
+        if (ev.before != null)
+        {
+            Snapshot now = snapshot();
+            ev.heapSifts = now.siftUps + now.siftDowns - ev.before.siftUps - ev.before.siftDowns;
+            ev.heapRemoves = now.removes - ev.before.removes;
+            ev.finds = now.finds - ev.before.finds;
+            ev.findSteps = now.findSteps - ev.before.findSteps;
+            ev.unions = now.unions - ev.before.unions;
+        }
+        ev.commit();
+    }
+
+
+    /*****  snapshots  *****/
+
+    static Snapshot snapshot()
+    {
+        TreeMap<String, Long> phases = new TreeMap<String, Long>();
+        for(Map.Entry<String, LongAdder> p : phaseNanos.entrySet())
+            phases.put(p.getKey(), p.getValue().sum());
+
+        return new Snapshot(siftUps.sum(), siftUpLevels.sum(), siftDowns.sum(), siftDownLevels.sum(),
+                            removes.sum(), finds.sum(), findSteps.sum(), longestFind.get(), unions.sum(),
+                            phases);
+    }
+
+    static void reset()
+    {
+        siftUps.reset();
+        siftUpLevels.reset();
+        siftDowns.reset();
+        siftDownLevels.reset();
+        removes.reset();
+        finds.reset();
+        findSteps.reset();
+        longestFind.reset();
+        unions.reset();
+        phaseNanos.clear();
+    }
+
+    // The counters and timers at one moment
+    static final class Snapshot
+    {
+        final long siftUps, siftUpLevels, siftDowns, siftDownLevels, removes;
+        final long finds, findSteps, longestFind, unions;
+        // nanoseconds per "algorithm.phase", in name order
+        final Map<String, Long> phaseNanos;
+
+        Snapshot(long _siftUps, long _siftUpLevels, long _siftDowns, long _siftDownLevels, long _removes,
+                 long _finds, long _findSteps, long _longestFind, long _unions, Map<String, Long> _phaseNanos)
+        {
+            siftUps = _siftUps;
+            siftUpLevels = _siftUpLevels;
+            siftDowns = _siftDowns;
+            siftDownLevels = _siftDownLevels;
+            removes = _removes;
+            finds = _finds;
+            findSteps = _findSteps;
+            longestFind = _longestFind;
+            unions = _unions;
+            phaseNanos = _phaseNanos;
+        }
+
+        // average number of links a find followed
+        double meanFindPath()
+        {
+            return finds == 0 ? 0 : (double) findSteps / finds;
+        }
+
+        public String toString()
+        {
+            StringBuilder sb = new StringBuilder();
+            sb.append("heap: ").append(siftUps).append(" sift ups (").append(siftUpLevels).append(" levels), ")
+              .append(siftDowns).append(" sift downs (").append(siftDownLevels).append(" levels), ")
+              .append(removes).append(" removes\n");
+            sb.append("union-find: ").append(finds).append(" finds, mean path ")
+              .append(String.format("%.2f", meanFindPath())).append(", longest ").append(longestFind)
+              .append(", ").append(unions).append(" unions\n");
+            for(Map.Entry<String, Long> p : phaseNanos.entrySet())
+                sb.append(p.getKey()).append(": ").append(String.format("%.3f", p.getValue() / 1e6)).append(" ms\n");
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+// Flight Recorder event for one phase of a run, see MSTMetrics
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mst.Phase")
+@Label("MST Phase")
+@Category("MST")
+@Description("One phase of an MST run: loading, heap build, the main loop or printing")
+class MSTPhaseEvent extends Event
+{
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Phase")
+    String phase;
+
+    // for the mst.metrics timers, not recorded
+    transient long started;
+}
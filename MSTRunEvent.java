@@ -0,0 +1,38 @@
+// Flight Recorder event for a whole run, see MSTMetrics
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("mst.Run")
+@Label("MST Run")
+@Category("MST")
+@Description("A whole MST run, with the operation counts when mst.metrics is on")
+class MSTRunEvent extends Event
+{
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Tree Weight")
+    long treeWeight;
+
+    @Label("Heap Sifts")
+    long heapSifts;
+
+    @Label("Heap Removes")
+    long heapRemoves;
+
+    @Label("Finds")
+    long finds;
+
+    @Label("Find Steps")
+    @Description("Parent links followed by all finds")
+    long findSteps;
+
+    @Label("Unions")
+    long unions;
+
+    transient MSTMetrics.Snapshot before;
+}
@@ -0,0 +1,32 @@
+// Where the programs send their results
+//
+// A sink takes a finished tree in bulk, as arrays of edges or as a parent
+// array, and writes it through its own byte buffer: no String per edge and
+// no trip through the synchronized System.out per line. There are three:
+//     text    the lines the programs always printed, "Edge A--2--E" and "B -> A"
+//     csv     u,v,weight and vertex,parent rows
+//     binary  little endian ints, see BinarySink
+//
+// Vertices are labelled A, B, C ... as before when there are at most 26 of
+// them and by number otherwise.
+//
+// Silent mode (-Dmst.silent=true, or MSTSinks.silent = true) turns off every
+// progress line, display and echo, leaving only what is sent to a file sink.
+
+import java.io.*;
+
+interface MSTSink extends Closeable
+{
+    // A human readable line such as a header or a total; only text sinks write it
+    void note(String line) throws IOException;
+
+    // Tree edges u[i]--(wgt[i])--v[i] for i < n, of a graph of V vertices
+    void edges(int V, int n, int[] u, int[] v, int[] wgt) throws IOException;
+
+    // The same for the long and double weight variants
+    void edges(int V, int n, int[] u, int[] v, long[] wgt) throws IOException;
+    void edges(int V, int n, int[] u, int[] v, double[] wgt) throws IOException;
+
+    // parent[v] for v = 1..V, 0 for a root or a vertex the tree does not reach
+    void parents(int V, int[] parent) throws IOException;
+}
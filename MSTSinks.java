@@ -0,0 +1,53 @@
+// The sinks the programs write to: the console, or a file picked by its
+// extension, and the switch for silent mode. See MSTSink.
+
+import java.io.*;
+
+class MSTSinks
+{
+    public static volatile boolean silent = Boolean.getBoolean("mst.silent");
+
+    // Buffered text to System.out, which is flushed but left open by close
+    public static MSTSink console()
+    {
+        return new TextSink(System.out, false);
+    }
+
+    public static MSTSink text(String file) throws IOException
+    {
+        return new TextSink(new FileOutputStream(file), true);
+    }
+
+    public static MSTSink csv(String file) throws IOException
+    {
+        return new CsvSink(new FileOutputStream(file));
+    }
+
+    public static MSTSink binary(String file) throws IOException
+    {
+        return new BinarySink(new FileOutputStream(file));
+    }
+
+    // csv for .csv, binary for .bin, text otherwise
+    public static MSTSink forFile(String file) throws IOException
+    {
+        if (file.endsWith(".csv"))
+            return csv(file);
+        if (file.endsWith(".bin"))
+            return binary(file);
+        return text(file);
+    }
+
+    // Prints a progress line unless silent
+    public static void progress(String line)
+    {
+        if (!silent)
+            System.out.println(line);
+    }
+
+    // Label of vertex u in a graph of V vertices
+    public static String label(int V, int u)
+    {
+        return V <= 26 ? String.valueOf((char) (u + 64)) : String.valueOf(u);
+    }
+}
@@ -0,0 +1,93 @@
+// CSR arrays with the adjacency kept off the Java heap, see OffHeapIntArray.
+// Only the V+2 offsets are on the heap; they are longs so a graph may have
+// more than 2^31 adjacency entries.
+
+import java.io.*;
+
+class OffHeapCSR
+{
+    public int V;
+    public long E;
+    public long[] offsets;
+    public OffHeapIntArray targets;
+    public OffHeapIntArray weights;
+
+    public OffHeapCSR(int _V, long _E, long[] _offsets, OffHeapIntArray _targets, OffHeapIntArray _weights)
+    {
+        V = _V;
+        E = _E;
+        offsets = _offsets;
+        targets = _targets;
+        weights = _weights;
+    }
+
+    // Builds the CSR arrays with two streaming passes over the graph file, the
+    // same two passes as CSRArrays.build, so no edge array is ever held.
+    // A LAYOUT_CSR binary file is mapped in place instead. backingDir puts the
+    // adjacency in memory-mapped temporary files there, null uses direct memory.
+    public static OffHeapCSR load(String graphFile, boolean quiet, File backingDir) throws IOException
+    {
+        if (GraphBinary.isBinary(graphFile) && GraphBinary.isCSR(graphFile))
+            return GraphBinary.mapCSR(graphFile);
+
+        final long[][] offs = new long[1][];
+
+        // pass 1: degree count, shifted by one so a prefix sum gives the end offsets
+        EdgeListLoader.scan(graphFile, quiet, new EdgeVisitor() {
+            public void header(int V, long E)
+            {
+                offs[0] = new long[V + 2];
+            }
+
+            public void edge(int u, int v, int wgt)
+            {
+                offs[0][u + 1]++;
+                offs[0][v + 1]++;
+            }
+        });
+
+        final long[] offsets = offs[0];
+        final int V = offsets.length - 2;
+        for(int v = 1; v <= V + 1; ++v)
+            offsets[v] += offsets[v - 1];
+        final long entries = offsets[V + 1];
+
+        final OffHeapIntArray targets, weights;
+        if (backingDir == null)
+        {
+            targets = new OffHeapIntArray(entries);
+            weights = new OffHeapIntArray(entries);
+        }
+        else
+        {
+            File tf = File.createTempFile("targets", ".bin", backingDir);
+            File wf = File.createTempFile("weights", ".bin", backingDir);
+            tf.deleteOnExit();
+            wf.deleteOnExit();
+            targets = new OffHeapIntArray(entries, tf);
+            weights = new OffHeapIntArray(entries, wf);
+        }
+
+        // pass 2: fill from the back of each vertex's slots, pos[v] starts at its end
+        final long[] pos = new long[V + 1];
+        for(int v = 0; v <= V; ++v)
+            pos[v] = offsets[v + 1];
+
+        EdgeListLoader.scan(graphFile, true, new EdgeVisitor() {
+            public void header(int V, long E)
+            {
+            }
+
+            public void edge(int u, int v, int wgt)
+            {
+                targets.set(--pos[u], v);
+                weights.set(pos[u], wgt);
+
+                targets.set(--pos[v], u);
+                weights.set(pos[v], wgt);
+            }
+        });
+
+        return new OffHeapCSR(V, entries / 2, offsets, targets, weights);
+    }
+}
@@ -0,0 +1,128 @@
+// An int array that lives outside the Java heap
+//
+// The ints are held in direct ByteBuffers, or in a file mapped into memory,
+// split into pages of 2^28 ints (1 GB) so the array can be longer than any
+// one buffer or Java array. Indexes are longs. Nothing here is seen by the
+// garbage collector apart from the small page table, so arrays of many GB
+// leave heap usage and GC pauses unchanged. The memory is released when the
+// array is no longer reachable.
+//
+// Data is little endian, the byte order GraphBinary writes, so CSR arrays in
+// a binary graph file can be mapped in place.
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+class OffHeapIntArray
+{
+    private static final int PAGE_BITS = 28;
+    private static final long PAGE_INTS = 1L << PAGE_BITS;
+    private static final long PAGE_MASK = PAGE_INTS - 1;
+
+    private final IntBuffer[] pages;
+    private final long length;
+
+    // length zeroed ints in direct memory
+    public OffHeapIntArray(long _length)
+    {
+        length = _length;
+        pages = new IntBuffer[pageCount(length)];
+        for(int p = 0; p < pages.length; ++p)
+            pages[p] = ByteBuffer.allocateDirect((int) (pageInts(length, p) * 4))
+                                 .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    // length ints in backingFile, which is created or cut to size and mapped read-write
+    public OffHeapIntArray(long _length, File backingFile) throws IOException
+    {
+        length = _length;
+        pages = new IntBuffer[pageCount(length)];
+        try (FileChannel ch = FileChannel.open(backingFile.toPath(), StandardOpenOption.CREATE,
+                 StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            for(int p = 0; p < pages.length; ++p)
+                pages[p] = ch.map(FileChannel.MapMode.READ_WRITE, p * PAGE_INTS * 4, pageInts(length, p) * 4)
+                             .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+    }
+
+    private OffHeapIntArray(IntBuffer[] _pages, long _length)
+    {
+        pages = _pages;
+        length = _length;
+    }
+
+    // Maps length ints that are already in a file, starting at byteOffset, read only
+    public static OffHeapIntArray mapReadOnly(FileChannel ch, long byteOffset, long length) throws IOException
+    {
+        IntBuffer[] pages = new IntBuffer[pageCount(length)];
+        for(int p = 0; p < pages.length; ++p)
+            pages[p] = ch.map(FileChannel.MapMode.READ_ONLY, byteOffset + p * PAGE_INTS * 4, pageInts(length, p) * 4)
+                         .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        return new OffHeapIntArray(pages, length);
+    }
+
+    public long length()
+    {
+        return length;
+    }
+
+    public int get(long i)
+    {
+        return pages[(int) (i >>> PAGE_BITS)].get((int) (i & PAGE_MASK));
+    }
+
+    public void set(long i, int x)
+    {
+        pages[(int) (i >>> PAGE_BITS)].put((int) (i & PAGE_MASK), x);
+    }
+
+    // Copies n elements starting at i into dst[0..n-1] with bulk page reads
+    public void get(long i, int[] dst, int n)
+    {
+        int done = 0, k;
+        while(done < n)
+        {
+            IntBuffer b = pages[(int) (i >>> PAGE_BITS)].duplicate();
+            b.position((int) (i & PAGE_MASK));
+            k = Math.min(n - done, b.remaining());
+            b.get(dst, done, k);
+            done += k;
+            i += k;
+        }
+    }
+
+    // Sets every element to x, a page at a time
+    public void fill(int x)
+    {
+        int[] chunk = new int[1 << 16];
+        Arrays.fill(chunk, x);
+
+        for(IntBuffer page : pages)
+        {
+            IntBuffer b = page.duplicate();
+            b.clear();
+            while(b.hasRemaining())
+                b.put(chunk, 0, Math.min(chunk.length, b.remaining()));
+        }
+    }
+
+    private static int pageCount(long length)
+    {
+        long n = (length + PAGE_INTS - 1) >>> PAGE_BITS;
+        if (length < 0 || n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Bad off-heap array length " + length);
+        return (int) n;
+    }
+
+    // ints held by page p
+    private static long pageInts(long length, int p)
+    {
+        return Math.min(PAGE_INTS, length - p * PAGE_INTS);
+    }
+}
@@ -0,0 +1,130 @@
+/****************************************************
+*
+*       Dial's bucket queue: one bucket per key value,
+*       each a doubly linked list of vertices, so insert
+*       and decrease-key are O(1). Prim's keys are edge
+*       weights, so every key in the queue lies in the
+*       one window minKey..maxKey (and 0, the root's key)
+*       of W+1 values, and the W+1 buckets are indexed by
+*       key - minKey.
+*
+*       Dijkstra's keys never drop below the last one
+*       removed, so Dial sweeps the buckets round once.
+*       Prim's can: a vertex found after a remove may be
+*       lighter than it. So remove does not sweep from
+*       where it was; a two level bitmask of non-empty
+*       buckets finds the lowest one, reading at most one
+*       word per 4096 buckets. Prim then runs in
+*       O(E + V.W/4096), linear for the small integer
+*       weights the queue is meant for. PrimQueues only
+*       picks it by itself when W is at most BUCKET_LIMIT
+*       and BUCKETS_PER_VERTEX times V.
+*
+*****************************************************/
+
+import java.util.Arrays;
+
+class BucketQueue implements PrimQueue
+{
+    private int[] head;       // first vertex in bucket b, 0 when none
+    private int[] next;
+    private int[] prev;
+    private int[] bucketOf;   // bucket holding v, -1 when not in the queue
+    private long[] used;      // bit b set when bucket b is non-empty
+    private long[] summary;   // bit w set when used[w] != 0
+    private int[] dist;
+    private int minKey;       // key of bucket 0
+    private int N;
+
+    public BucketQueue(int _minKey, int maxKey, int maxSize, int[] _dist)
+    {
+        // the root goes in with key 0
+        minKey = Math.min(_minKey, 0);
+        maxKey = Math.max(maxKey, 0);
+        long buckets = (long) maxKey - minKey + 1;
+        if (buckets > Integer.MAX_VALUE - 64)
+            throw new IllegalArgumentException("Keys " + minKey + ".." + maxKey + " are too far apart for a bucket queue");
+
+        head = new int[(int) buckets];
+        used = new long[(int) ((buckets + 63) >>> 6)];
+        summary = new long[(used.length + 63) >>> 6];
+        next = new int[maxSize + 1];
+        prev = new int[maxSize + 1];
+        bucketOf = new int[maxSize + 1];
+        Arrays.fill(bucketOf, -1);
+        dist = _dist;
+        N = 0;
+    }
+
+    public boolean isEmpty()
+    {
+        return N == 0;
+    }
+
+    public boolean contains(int v)
+    {
+        return bucketOf[v] >= 0;
+    }
+
+    public void insert(int v)
+    {
+        link(v, dist[v]);
+        N++;
+    }
+
+    public void decreaseKey(int v)
+    {
+        unlink(v);
+        link(v, dist[v]);
+    }
+
+    public int remove()
+    {
+        int s = 0;
+        while(summary[s] == 0)
+            ++s;
+        int w = (s << 6) + Long.numberOfTrailingZeros(summary[s]);
+        int b = (w << 6) + Long.numberOfTrailingZeros(used[w]);
+
+        int v = head[b];
+        unlink(v);
+        N--;
+        return v;
+    }
+
+    private void link(int v, int k)
+    {
+        long b = (long) k - minKey;
+        if (b < 0 || b >= head.length)
+            throw new IllegalArgumentException("Key " + k + " is outside the bucket queue's "
+                                               + minKey + ".." + (minKey + head.length - 1));
+        int i = (int) b;
+
+        prev[v] = 0;
+        next[v] = head[i];
+        if (head[i] != 0)
+            prev[head[i]] = v;
+        else
+        {
+            used[i >>> 6] |= 1L << i;
+            summary[i >>> 12] |= 1L << (i >>> 6);
+        }
+        head[i] = v;
+        bucketOf[v] = i;
+    }
+
+    private void unlink(int v)
+    {
+        int b = bucketOf[v];
+        if (prev[v] != 0)
+            next[prev[v]] = next[v];
+        else
+            head[b] = next[v];
+        if (next[v] != 0)
+            prev[next[v]] = prev[v];
+        bucketOf[v] = -1;
+
+        if (head[b] == 0 && (used[b >>> 6] &= ~(1L << b)) == 0)
+            summary[b >>> 12] &= ~(1L << (b >>> 6));
+    }
+}
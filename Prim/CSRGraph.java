@@ -0,0 +1,436 @@
+// Simple weighted graph representation 
+// Uses compressed sparse row (CSR) adjacency arrays, suitable for sparse graphs
+
+import java.io.*;
+import mst.EdgeCursor;
+import mst.NeighbourCursor;
+import mst.WeightedGraph;
+
+class CSRGraph implements WeightedGraph {
+    // V = number of vertices
+    // E = number of edges
+    // Adjacency is held in compressed sparse row (CSR) form, see CSRArrays
+    private int V;
+    private long E;
+    private int[] offsets;
+    private int[] targets;
+    private int[] weights;
+
+    // In off-heap mode the CSR arrays live outside the Java heap instead,
+    // see OffHeapCSR, and the on-heap arrays above are null
+    private OffHeapCSR off;
+    private int[] mst;
+    private int[] mstDist;
+
+    // lightest and heaviest edge weight, used to pick Prim's priority queue
+    private int minWgt, maxWgt;
+    
+    // used for traversing graph
+    private int[] visited;
+    private int id;
+    
+    
+    // default constructor
+    public CSRGraph(String graphFile)  throws IOException
+    {
+        this(graphFile, false);
+    }
+
+    // quiet suppresses the echo of the header and every edge while loading.
+    // Files in the GraphBinary format are read straight into the CSR arrays.
+    public CSRGraph(String graphFile, boolean quiet)  throws IOException
+    {
+        this(GraphBinary.isBinary(graphFile) ? GraphBinary.readCSR(graphFile)
+                                             : CSRArrays.build(EdgeListLoader.load(graphFile, quiet)));
+    }
+
+    // A graph already in memory, such as the random ones of MSTQueryService -check
+    CSRGraph(EdgeList el)
+    {
+        this(CSRArrays.build(el));
+    }
+
+    private CSRGraph(CSRArrays csr)
+    {
+        V = csr.V;
+        E = csr.E;
+        offsets = csr.offsets;
+        targets = csr.targets;
+        weights = csr.weights;
+
+        findWeightRange();
+    }
+
+    // Off-heap mode: the adjacency is kept in direct memory, or in memory-mapped
+    // files in backingDir when that is not null, so heap use depends only on V.
+    // A binary file holding CSR arrays is mapped in place.
+    public CSRGraph(String graphFile, boolean quiet, boolean offHeap, File backingDir)  throws IOException
+    {
+        if (!offHeap)
+        {
+            CSRGraph g = new CSRGraph(graphFile, quiet);
+            V = g.V;
+            E = g.E;
+            offsets = g.offsets;
+            targets = g.targets;
+            weights = g.weights;
+            minWgt = g.minWgt;
+            maxWgt = g.maxWgt;
+            return;
+        }
+
+        off = OffHeapCSR.load(graphFile, quiet, backingDir);
+        V = off.V;
+        E = off.E;
+
+        long n = off.weights.length();
+        minWgt = Integer.MAX_VALUE;
+        maxWgt = Integer.MIN_VALUE;
+        for(long i = 0; i < n; ++i)
+        {
+            minWgt = Math.min(minWgt, off.weights.get(i));
+            maxWgt = Math.max(maxWgt, off.weights.get(i));
+        }
+        if (n == 0)
+            minWgt = maxWgt = 0;
+    }
+
+    private void findWeightRange()
+    {
+        minWgt = Integer.MAX_VALUE;
+        maxWgt = Integer.MIN_VALUE;
+        for(int i = 0; i < weights.length; ++i)
+        {
+            if (weights[i] < minWgt)
+                minWgt = weights[i];
+            if (weights[i] > maxWgt)
+                maxWgt = weights[i];
+        }
+        if (weights.length == 0)
+            minWgt = maxWgt = 0;
+    }
+   
+    // method to display the graph representation, buffered and written at once
+    public void display() {
+        int v, i;
+        StringBuilder line = new StringBuilder();
+
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("");
+            for(v=1; v<V; ++v){
+                line.setLength(0);
+                line.append("adj[").append(MSTSinks.label(V, v)).append("] ->");
+                if (off != null)
+                {
+                    for(long j = off.offsets[v]; j < off.offsets[v + 1]; ++j) 
+                        line.append(" |").append(MSTSinks.label(V, off.targets.get(j))).append(" | ").append(off.weights.get(j)).append("| ->");
+                }
+                else
+                {
+                    for(i = offsets[v]; i < offsets[v + 1]; ++i) 
+                        line.append(" |").append(MSTSinks.label(V, targets[i])).append(" | ").append(weights[i]).append("| ->");
+                }
+                out.note(line.toString());
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    
+    public void MST_Prim(int s)
+    {
+        MST_Prim(s, "auto");
+    }
+
+    // queue names the priority queue to use, see PrimQueues
+    public void MST_Prim(int s, String queue)
+    {
+        MSTRunEvent run = MSTMetrics.beginRun("prim");
+        long wgt_sum = computeMST(s, queue);
+
+        MSTPhaseEvent phase = MSTMetrics.begin("prim", "output");
+        MSTSinks.progress("\n\nWeight of MST = " + wgt_sum);
+        showMST(s);                         
+        MSTMetrics.end(phase);
+        MSTMetrics.endRun(run, wgt_sum);
+    }
+
+    // Prim's algorithm itself, printing nothing: the tree of s is left in
+    // mstParent() and mstEdgeWeight(), and its weight is returned
+    public long computeMST(int s, String queue)
+    {
+        long wgt_sum;
+        /**Parent stores the parent vertex of u in MST and is MST, dist stores dist of a vertex u to some nearest vertex*/
+        int[] dist, parent;
+        MSTPhaseEvent phase = MSTMetrics.begin("prim", "init");
+
+        /**Java initialises all arrays to 0 on its own*/
+        dist = new int[V + 1];
+        parent = new int[V + 1];
+
+        //Initialise dist
+        for (int i = 1; i < V + 1;i++ ) 
+            dist[i] = Integer.MAX_VALUE;
+
+        PrimQueue pq = PrimQueues.create(queue, V, dist, minWgt, maxWgt);
+        MSTMetrics.end(phase);
+
+        phase = MSTMetrics.begin("prim", "loop");
+        wgt_sum = growTree(neighbours(), s, pq, dist, parent);
+        MSTMetrics.end(phase);
+
+        // vertices outside the component of s keep dist Integer.MAX_VALUE and add nothing
+        mst = parent;   
+        mstDist = dist;
+        return wgt_sum;
+    }
+
+    // The lightest and heaviest edge weight of g, which PrimQueues.create
+    // uses to pick a queue. A CSRGraph has them already, any other backend
+    // is read through once.
+    static int[] weightRange(WeightedGraph g)
+    {
+        if (g instanceof CSRGraph)
+            return new int[] { ((CSRGraph) g).minWgt, ((CSRGraph) g).maxWgt };
+
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        EdgeCursor e = g.edges();
+        while(e.next())
+        {
+            min = Math.min(min, e.weight());
+            max = Math.max(max, e.weight());
+        }
+        if (min > max)
+            min = max = 0;
+        return new int[] { min, max };
+    }
+
+    // Grows the tree of s, which must not be reached yet, with the empty queue pq
+    // and returns its weight. The neighbours come from c, so this is Prim on
+    // any WeightedGraph. Only the entries of dist[] and parent[] for the
+    // component of s are touched, so trees of other components can be grown
+    // into the same arrays at the same time with a queue and a cursor each.
+    static long growTree(NeighbourCursor c, int s, PrimQueue pq, int[] dist, int[] parent)
+    {
+        int v;
+        long wgt_sum = 0;
+
+        //Sets the starting element to 0, which acts as a nice buffer to stop it from going in an infite loo
+        dist[s] = 0;
+        parent[s] = 0;
+        pq.insert(s);//s is the root of the mst
+
+        while(! ( pq.isEmpty() ) )
+        {
+            v = pq.remove();
+            wgt_sum += dist[v];
+            dist[v] = -dist[v];
+            c.reset(v);
+            while(c.next())
+                relax(pq, dist, parent, v, c.target(), c.weight());
+        }//end outer while
+        return wgt_sum;
+    }
+
+    public int vertices()
+    {
+        return V;
+    }
+
+    // parent[v] in the tree of the last MST_Prim or computeMST, 0 for its root and unreached vertices
+    public int[] mstParent()
+    {
+        return mst;
+    }
+
+    // Weight of the tree edge v--parent[v]
+    public int mstEdgeWeight(int v)
+    {
+        // dist[] of a vertex taken into the tree is minus the weight of its tree edge
+        return -mstDist[v];
+    }
+    
+    // Edge v--(wgt)--t has been found from the tree vertex v
+    private static void relax(PrimQueue pq, int[] dist, int[] parent, int v, int t, int wgt)
+    {
+        if (wgt < dist[t])//dist[t] was original
+        {
+            dist[t] = wgt;
+            parent[t] = v;//Adds to min span tree
+            
+            //If the graph connects to a new point, add it. Otherwise sift it up to find order
+            if (!pq.contains(t)) 
+                pq.insert(t);  
+            else
+                pq.decreaseKey(t);
+        }
+    }
+    
+    public void showMST(int s)
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("Starting vertex is: " + MSTSinks.label(V, s));
+            out.note("\n\nMinimum Spanning tree parent array is:");
+            out.parents(V, mst);
+            out.note("");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Sends the parent array and then the tree edges v--parent[v] of the last MST_Prim to out
+    public void writeMST(MSTSink out) throws IOException
+    {
+        int n = 0;
+        int[] u = new int[V], t = new int[V], w = new int[V];
+
+        for(int v = 1; v <= V; ++v)
+            if (mst[v] != 0)
+            {
+                u[n] = v;
+                t[n] = mst[v];
+                w[n] = mstEdgeWeight(v);
+                ++n;
+            }
+        out.parents(V, mst);
+        out.edges(V, n, u, t, w);
+    }
+
+
+    /*****  WeightedGraph, the CSR backend  *****/
+
+    public int vertexCount()
+    {
+        return V;
+    }
+
+    public long edgeCount()
+    {
+        return E;
+    }
+
+    // Walks v's slice of the CSR arrays, on or off the heap. Each gets a
+    // cursor of its own so the loop of growTree has no test of which.
+    public NeighbourCursor neighbours()
+    {
+        if (off != null)
+            return new NeighbourCursor() {
+                private long i, end;
+                private int t, w;
+
+                public void reset(int v)
+                {
+                    i = off.offsets[v];
+                    end = off.offsets[v + 1];
+                }
+
+                public boolean next()
+                {
+                    if (i == end)
+                        return false;
+                    t = off.targets.get(i);
+                    w = off.weights.get(i);
+                    ++i;
+                    return true;
+                }
+
+                public int target()
+                {
+                    return t;
+                }
+
+                public int weight()
+                {
+                    return w;
+                }
+            };
+
+        return new NeighbourCursor() {
+            private int i, end;
+            private int t, w;
+
+            public void reset(int v)
+            {
+                i = offsets[v];
+                end = offsets[v + 1];
+            }
+
+            public boolean next()
+            {
+                if (i == end)
+                    return false;
+                t = targets[i];
+                w = weights[i];
+                ++i;
+                return true;
+            }
+
+            public int target()
+            {
+                return t;
+            }
+
+            public int weight()
+            {
+                return w;
+            }
+        };
+    }
+
+    // Every edge from its lower numbered end. A self loop sits twice in its
+    // vertex's slice so only every second copy is given.
+    public EdgeCursor edges()
+    {
+        return new EdgeCursor() {
+            private final NeighbourCursor c = neighbours();
+            private int v = 0;
+            private boolean selfSeen;
+
+            public boolean next()
+            {
+                while(true)
+                {
+                    while(c.next())
+                    {
+                        int t = c.target();
+                        if (t > v)
+                            return true;
+                        if (t == v && (selfSeen = !selfSeen) == false)
+                            return true;
+                    }
+                    if (v == V)
+                        return false;
+                    c.reset(++v);
+                    selfSeen = false;
+                }
+            }
+
+            public int u()
+            {
+                return v;
+            }
+
+            public int v()
+            {
+                return c.target();
+            }
+
+            public int weight()
+            {
+                return c.weight();
+            }
+        };
+    }
+
+}//end class CSRGraph
@@ -0,0 +1,98 @@
+/****************************************************
+*
+*       Indexed d-ary heap. A wider node means a
+*       shallower tree, so decrease-key (siftUp)
+*       does fewer, more cache friendly steps.
+*
+*****************************************************/
+
+class DaryHeap implements PrimQueue
+{
+    private int d;
+    private int[] h;        // heap array, root at h[0]
+    private int[] hPos;     // hPos[h[k]] == k + 1, 0 when not in the heap
+    private int[] dist;     // dist[v] = priority of v
+    private int N;          // heap size
+
+    public DaryHeap(int _d, int maxSize, int[] _dist)
+    {
+        if (_d < 2)
+            throw new IllegalArgumentException("d-ary heap needs d >= 2, not " + _d);
+        d = _d;
+        h = new int[maxSize];
+        hPos = new int[maxSize + 1];
+        dist = _dist;
+        N = 0;
+    }
+
+    public boolean isEmpty()
+    {
+        return N == 0;
+    }
+
+    public boolean contains(int v)
+    {
+        return hPos[v] != 0;
+    }
+
+    public void insert(int v)
+    {
+        h[N] = v;
+        siftUp(N++);
+    }
+
+    public void decreaseKey(int v)
+    {
+        siftUp(hPos[v] - 1);
+    }
+
+    public int remove()
+    {
+        int v = h[0];
+        hPos[v] = 0;
+        if (--N > 0)
+        {
+            h[0] = h[N];
+            siftDown(0);
+        }
+        return v;
+    }
+
+    private void siftUp(int k)
+    {
+        int v = h[k], p;
+
+        while(k > 0 && dist[v] < dist[h[p = (k - 1) / d]])
+        {
+            h[k] = h[p];
+            hPos[h[k]] = k + 1;
+            k = p;
+        }
+        h[k] = v;
+        hPos[v] = k + 1;
+    }
+
+    private void siftDown(int k)
+    {
+        int v = h[k], c, j, best, last;
+
+        while((c = d * k + 1) < N)
+        {
+            //lightest of the up to d children
+            best = c;
+            last = Math.min(c + d, N);
+            for(j = c + 1; j < last; ++j)
+                if (dist[h[j]] < dist[h[best]])
+                    best = j;
+
+            if (dist[v] <= dist[h[best]])
+                break;
+
+            h[k] = h[best];
+            hPos[h[k]] = k + 1;
+            k = best;
+        }
+        h[k] = v;
+        hPos[v] = k + 1;
+    }
+}
@@ -0,0 +1,17 @@
+// Indexed binary heap of vertices keyed on a double[] dist, for PrimDouble
+
+class DoubleHeap extends KeyedVertexHeap
+{
+    private double[] dist;  // dist[v] = priority of v
+
+    public DoubleHeap(int maxSize, double[] _dist)
+    {
+        super(maxSize);
+        dist = _dist;
+    }
+
+    protected boolean less(int a, int b)
+    {
+        return dist[a] < dist[b];
+    }
+}
@@ -0,0 +1,101 @@
+// Indexed binary heap of vertices for the long and double weight Prims
+//
+// Everything but the comparison of two keys: the heap array, the positions
+// kept for decrease-key, the sifts and their metrics. LongHeap and
+// DoubleHeap give less() over their own dist[] array, so a fix to the heap
+// is made once here for both.
+//
+// less() is a virtual call in the sift loops. Only one subclass is loaded in
+// a run of PrimLong or PrimDouble, so the JIT can inline it; VertexHeapBench
+// in bench/prim times this heap against the int VertexHeap.
+
+abstract class KeyedVertexHeap
+{
+    private int[] h;	   // heap array
+    private int[] hPos;	   // hPos[h[k]] == k
+    private int N;         // heap size
+
+    protected KeyedVertexHeap(int maxSize)
+    {
+        N = 0;
+        h = new int[maxSize + 1];
+        hPos = new int[maxSize + 1];
+    }
+
+    // true when the key of vertex a is below the key of vertex b
+    protected abstract boolean less(int a, int b);
+
+    public boolean isEmpty()
+    {
+        return N == 0;
+    }
+
+    public boolean contains(int v)
+    {
+        return hPos[v] != 0;
+    }
+
+    public void decreaseKey(int v)
+    {
+        siftUp(hPos[v]);
+    }
+
+    public void insert(int x)
+    {
+        h[++N] = x;
+        siftUp(N);
+    }
+
+    public int remove()
+    {
+        int v = h[1];
+        hPos[v] = 0;
+        h[1] = h[N--];
+        if (N > 0)
+            siftDown(1);
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.remove();
+        return v;
+    }
+
+    private void siftUp(int k)
+    {
+        int v = h[k];
+        int levels = 0;
+
+        while(k > 1 && less(v, h[k / 2]))
+        {
+            h[k] = h[k / 2];
+            hPos[h[k]] = k;
+            k = k / 2;
+            ++levels;
+        }
+        h[k] = v;
+        hPos[v] = k;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.siftUp(levels);
+    }
+
+    private void siftDown(int k)
+    {
+        int v = h[k], j;
+        int levels = 0;
+
+        while(2 * k <= N)
+        {
+            j = 2 * k;
+            if (j < N && less(h[j + 1], h[j]))
+                ++j;
+            if (!less(h[j], v))
+                break;
+            h[k] = h[j];
+            hPos[h[k]] = k;
+            k = j;
+            ++levels;
+        }
+        h[k] = v;
+        hPos[v] = k;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.siftDown(levels);
+    }
+}
@@ -0,0 +1,159 @@
+// The CSR graph of PrimLong, with a long[] of weights, and its Prim
+
+import java.io.*;
+
+class LongGraph
+{
+    private int V;
+    private int E;
+    private int[] offsets;
+    private int[] targets;
+    private long[] weights;
+    private int[] mst;
+    private long[] mstDist;    // weight of the tree edge v--mst[v]
+    private LongWeightSum mstWeight = new LongWeightSum();
+
+    // quiet suppresses the echo of the header and every edge while loading
+    public LongGraph(String graphFile, boolean quiet) throws IOException
+    {
+        final int[][] uv = new int[2][];
+        final long[][] w = new long[1][];
+
+        EdgeListLoader.scanLong(graphFile, quiet, new LongEdgeVisitor() {
+            private int e = 0;
+
+            public void header(int _V, long _E) throws IOException
+            {
+                if (_E > Integer.MAX_VALUE / 2)
+                    throw new IOException(graphFile + ": " + _E + " edges do not fit in CSR arrays");
+                V = _V;
+                E = (int) _E;
+                uv[0] = new int[E];
+                uv[1] = new int[E];
+                w[0] = new long[E];
+            }
+
+            public void edge(int u, int v, long wgt)
+            {
+                uv[0][e] = u;
+                uv[1][e] = v;
+                w[0][e] = wgt;
+                e++;
+            }
+        });
+        buildCSR(uv[0], uv[1], w[0]);
+    }
+
+    // CSR arrays laid out by CSRArrays.layout, which is the same for every
+    // weight type, and the weights copied into their slots
+    private void buildCSR(int[] eu, int[] ev, long[] ew)
+    {
+        offsets = new int[V + 2];
+        targets = new int[2 * E];
+        weights = new long[2 * E];
+
+        int[] edgeAt = CSRArrays.layout(V, E, eu, ev, offsets, targets);
+        for(int i = 0; i < 2 * E; ++i)
+            weights[i] = ew[edgeAt[i]];
+    }
+
+    public int vertices()
+    {
+        return V;
+    }
+
+    // Prim's algorithm from s. A vertex is in the tree once done[v] is set,
+    // so any weight, negative ones included, is a valid key.
+    public void MST_Prim(int s)
+    {
+        int v, t, i;
+        long[] dist = new long[V + 1];
+        int[] parent = new int[V + 1];
+        boolean[] done = new boolean[V + 1];
+        MSTRunEvent run = MSTMetrics.beginRun("primLong");
+        MSTPhaseEvent phase = MSTMetrics.begin("primLong", "loop");
+
+        for(v = 1; v <= V; ++v)
+            dist[v] = Long.MAX_VALUE;
+        mstWeight.reset();
+
+        LongHeap pq = new LongHeap(V, dist);
+        dist[s] = 0;
+        pq.insert(s);
+
+        while(!pq.isEmpty())
+        {
+            v = pq.remove();
+            done[v] = true;
+            if (v != s)
+                mstWeight.add(dist[v]);
+
+            for(i = offsets[v]; i < offsets[v + 1]; ++i)
+            {
+                t = targets[i];
+                if (!done[t] && weights[i] < dist[t])
+                {
+                    dist[t] = weights[i];
+                    parent[t] = v;
+                    if (!pq.contains(t))
+                        pq.insert(t);
+                    else
+                        pq.decreaseKey(t);
+                }
+            }
+        }
+        MSTMetrics.end(phase);
+
+        mst = parent;
+        mstDist = dist;
+        MSTMetrics.endRun(run, mstWeight.fitsLong() ? mstWeight.longValue() : Long.MAX_VALUE);
+    }
+
+    // The weight of the last tree as a decimal string, however large
+    public String weight()
+    {
+        return mstWeight.toString();
+    }
+
+    public LongWeightSum weightSum()
+    {
+        return mstWeight;
+    }
+
+    public void showMST(int s)
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("\n\nWeight of MST = " + weight());
+            out.note("Starting vertex is: " + MSTSinks.label(V, s));
+            out.note("\n\nMinimum Spanning tree parent array is:");
+            out.parents(V, mst);
+            out.note("");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Sends the parent array and then the tree edges v--parent[v] to out
+    public void writeMST(MSTSink out) throws IOException
+    {
+        int n = 0;
+        int[] u = new int[V], t = new int[V];
+        long[] w = new long[V];
+
+        for(int v = 1; v <= V; ++v)
+            if (mst[v] != 0)
+            {
+                u[n] = v;
+                t[n] = mst[v];
+                w[n] = mstDist[v];
+                ++n;
+            }
+        out.parents(V, mst);
+        out.edges(V, n, u, t, w);
+    }
+}
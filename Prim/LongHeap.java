@@ -0,0 +1,17 @@
+// Indexed binary heap of vertices keyed on a long[] dist, for PrimLong
+
+class LongHeap extends KeyedVertexHeap
+{
+    private long[] dist;    // dist[v] = priority of v
+
+    public LongHeap(int maxSize, long[] _dist)
+    {
+        super(maxSize);
+        dist = _dist;
+    }
+
+    protected boolean less(int a, int b)
+    {
+        return dist[a] < dist[b];
+    }
+}
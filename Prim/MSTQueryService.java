@@ -0,0 +1,322 @@
+// Minimum spanning tree queries against a graph loaded once
+//
+// The graph is read and Prim's algorithm run a single time when the service
+// is made; after that every query is answered from the tree. Besides the
+// weight of the tree it answers bottleneck (minimax) queries: the heaviest
+// edge on the tree path between u and v, which is also the least possible
+// heaviest edge over every path from u to v in the graph.
+//
+// Path maxima use binary lifting over the parent array: jump[k][2v] is the
+// ancestor 2^k edges above v and jump[k][2v+1] the heaviest edge on the way
+// there, side by side so a jump reads one cache line, and a query climbs
+// O(log V) jumps. Nothing is written after the
+// constructor returns and every field is final, so any number of threads
+// can query one service at the same time without locking.
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+class MSTQueryService
+{
+    // what pathMax returns when u and v are the same vertex or in different trees
+    public static final int NO_PATH = Integer.MIN_VALUE;
+
+    private final int V;
+    private final long weight;
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] root;       // root of the tree holding v, v itself when Prim did not reach v
+    private final int[][] jump;
+
+    // Loads graphFile, without echoing it, and builds the tree of s with the named Prim queue
+    public MSTQueryService(String graphFile, int s, String queue) throws IOException
+    {
+        this(new CSRGraph(graphFile, true), s, queue);
+    }
+
+    public MSTQueryService(String graphFile) throws IOException
+    {
+        this(graphFile, 1, "auto");
+    }
+
+    // Builds the tree of s in the already loaded g
+    public MSTQueryService(CSRGraph g, int s, String queue)
+    {
+        MSTPhaseEvent phase;
+        int v, k, i;
+
+        V = g.vertices();
+        if (s < 1 || s > V)
+            throw new IllegalArgumentException("Start vertex " + s + " is not in the graph");
+
+        g.computeMST(s, queue);
+        parent = g.mstParent().clone();
+
+        phase = MSTMetrics.begin("query", "index");
+        int[] w = new int[V + 1];
+        long sum = 0;
+        for(v = 1; v <= V; ++v)
+            if (parent[v] != 0)
+            {
+                w[v] = g.mstEdgeWeight(v);
+                sum += w[v];
+            }
+        weight = sum;
+
+        // children of every vertex as CSR arrays, to visit the trees top down
+        int[] first = new int[V + 2];
+        int[] child = new int[V];
+        for(v = 1; v <= V; ++v)
+            first[parent[v] + 1]++;
+        for(v = 1; v <= V + 1; ++v)
+            first[v] += first[v - 1];
+        int[] fill = first.clone();
+        for(v = 1; v <= V; ++v)
+            child[fill[parent[v]]++] = v;
+
+        // breadth first from the roots, the children of vertex 0
+        depth = new int[V + 1];
+        root = new int[V + 1];
+        int[] order = new int[V];
+        int head = 0, tail = 0, maxDepth = 0;
+        for(i = first[0]; i < first[1]; ++i)
+        {
+            v = child[i];
+            root[v] = v;
+            order[tail++] = v;
+        }
+        while(head < tail)
+        {
+            int u = order[head++];
+            for(i = first[u]; i < first[u + 1]; ++i)
+            {
+                v = child[i];
+                depth[v] = depth[u] + 1;
+                root[v] = root[u];
+                maxDepth = Math.max(maxDepth, depth[v]);
+                order[tail++] = v;
+            }
+        }
+
+        // enough levels for the deepest jump, at least one
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth));
+        jump = new int[levels][];
+
+        // a root jumps to itself over an edge lighter than any other
+        jump[0] = new int[2 * (V + 1)];
+        for(v = 1; v <= V; ++v)
+        {
+            jump[0][2 * v] = parent[v] != 0 ? parent[v] : v;
+            jump[0][2 * v + 1] = parent[v] != 0 ? w[v] : NO_PATH;
+        }
+        for(k = 1; k < levels; ++k)
+        {
+            int[] j1 = jump[k - 1];
+            int[] jk = new int[2 * (V + 1)];
+            for(v = 1; v <= V; ++v)
+            {
+                int a = j1[2 * v];
+                jk[2 * v] = j1[2 * a];
+                jk[2 * v + 1] = Math.max(j1[2 * v + 1], j1[2 * a + 1]);
+            }
+            jump[k] = jk;
+        }
+        MSTMetrics.end(phase);
+    }
+
+
+    /*****  queries, safe from any number of threads  *****/
+
+    public int vertices()
+    {
+        return V;
+    }
+
+    // Weight of the tree of the start vertex
+    public long weight()
+    {
+        return weight;
+    }
+
+    // Tree parent of v, 0 for the start vertex and for vertices the tree does not reach
+    public int parent(int v)
+    {
+        check(v);
+        return parent[v];
+    }
+
+    public boolean connected(int u, int v)
+    {
+        check(u);
+        check(v);
+        return root[u] == root[v];
+    }
+
+    // Heaviest edge on the tree path from u to v, or NO_PATH
+    public int pathMax(int u, int v)
+    {
+        int k, d, best = NO_PATH;
+
+        check(u);
+        check(v);
+        if (u == v || root[u] != root[v])
+            return NO_PATH;
+
+        // u is the deeper one; lift it to the depth of v
+        if (depth[u] < depth[v])
+        {
+            d = u;
+            u = v;
+            v = d;
+        }
+        for(d = depth[u] - depth[v], k = 0; d != 0; d >>>= 1, ++k)
+            if ((d & 1) != 0)
+            {
+                best = Math.max(best, jump[k][2 * u + 1]);
+                u = jump[k][2 * u];
+            }
+        if (u == v)
+            return best;
+
+        // lift both to just below their lowest common ancestor
+        for(k = jump.length - 1; k >= 0; --k)
+        {
+            int[] j = jump[k];
+            if (j[2 * u] != j[2 * v])
+            {
+                best = Math.max(best, Math.max(j[2 * u + 1], j[2 * v + 1]));
+                u = j[2 * u];
+                v = j[2 * v];
+            }
+        }
+        return Math.max(best, Math.max(jump[0][2 * u + 1], jump[0][2 * v + 1]));
+    }
+
+    private void check(int v)
+    {
+        if (v < 1 || v > V)
+            throw new IllegalArgumentException("Vertex " + v + " is not in the graph");
+    }
+
+
+    // java MSTQueryService graph [start vertex] [queue], then pairs u v on standard
+    // input; prints the heaviest tree edge between each pair, or "none".
+    // java MSTQueryService -check [graphs] [seed] runs the self check instead.
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length > 0 && args[0].equals("-check"))
+        {
+            int graphs = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+            int failures = check(graphs, seed);
+            System.out.println(graphs + " random graphs checked, " + failures + " failures");
+            if (failures > 0)
+                System.exit(1);
+            return;
+        }
+
+        String fname = args.length > 0 ? args[0] : "wGraph3.txt";
+        int s = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String queue = args.length > 2 ? args[2] : "auto";
+
+        MSTQueryService q = new MSTQueryService(fname, s, queue);
+        MSTSinks.progress("Weight of MST = " + q.weight());
+
+        Scanner sc = new Scanner(new BufferedInputStream(System.in));
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+        while(sc.hasNextInt())
+        {
+            int u = sc.nextInt();
+            int v = sc.nextInt();
+            int m = q.pathMax(u, v);
+            out.println(m == NO_PATH ? "none" : String.valueOf(m));
+        }
+        out.flush();
+    }
+
+
+    /*****  self check on random graphs  *****/
+
+    private static final String[] QUEUES = { "binary", "4ary", "pairing", "radix", "bucket" };
+
+    // Up to 60 vertices, often disconnected, with self loops, parallel edges
+    // and tied weights. For every Prim queue the tree weight and pathMax of
+    // every pair of vertices are compared with a brute force answer that
+    // does not use the tree at all: joining the components in order of edge
+    // weight, the edge that first joins u and v is their bottleneck.
+    // Returns the number of failures.
+    static int check(int graphs, long seed)
+    {
+        SplittableRandom r = new SplittableRandom(seed);
+        int failures = 0;
+
+        for(int n = 0; n < graphs; ++n)
+        {
+            int V = 1 + r.nextInt(60);
+            int E = r.nextInt(3 * V + 1);
+            int maxW = r.nextBoolean() ? 3 : 1000;
+            EdgeList el = new EdgeList(V, E);
+            for(int e = 0; e < E; ++e)
+            {
+                el.u[e] = 1 + r.nextInt(V);
+                el.v[e] = 1 + r.nextInt(V);
+                el.wgt[e] = r.nextInt(maxW + 1);
+            }
+            int s = 1 + r.nextInt(V);
+
+            // bottleneck[u][v] and the forest weight of each component, by brute force
+            int[][] bottleneck = new int[V + 1][V + 1];
+            long[] treeWeight = new long[V + 1];
+            int[] comp = new int[V + 1];
+            Integer[] order = new Integer[E];
+            for(int e = 0; e < E; ++e)
+                order[e] = e;
+            Arrays.sort(order, (a, b) -> Integer.compare(el.wgt[a], el.wgt[b]));
+            for(int x = 1; x <= V; ++x)
+            {
+                comp[x] = x;
+                Arrays.fill(bottleneck[x], NO_PATH);
+            }
+            for(int e : order)
+            {
+                int cu = comp[el.u[e]], cv = comp[el.v[e]];
+                if (cu == cv)
+                    continue;
+                for(int x = 1; x <= V; ++x)
+                    for(int y = 1; y <= V; ++y)
+                        if (comp[x] == cu && comp[y] == cv)
+                            bottleneck[x][y] = bottleneck[y][x] = el.wgt[e];
+                treeWeight[cu] += treeWeight[cv] + el.wgt[e];
+                for(int x = 1; x <= V; ++x)
+                    if (comp[x] == cv)
+                        comp[x] = cu;
+            }
+
+            CSRGraph g = new CSRGraph(el);
+            for(String queue : QUEUES)
+            {
+                String what = "graph " + n + " (V=" + V + ", E=" + E + ", s=" + s + ") " + queue;
+                MSTQueryService q = new MSTQueryService(g, s, queue);
+                if (q.weight() != treeWeight[comp[s]])
+                {
+                    System.out.println("FAIL " + what + " weight " + q.weight() + ", brute force " + treeWeight[comp[s]]);
+                    ++failures;
+                }
+                // only the tree of s is known to the service
+                for(int x = 1; x <= V; ++x)
+                    for(int y = 1; y <= V; ++y)
+                    {
+                        int expect = comp[x] == comp[s] && comp[y] == comp[s] ? bottleneck[x][y] : NO_PATH;
+                        if (q.pathMax(x, y) != expect)
+                        {
+                            System.out.println("FAIL " + what + " pathMax(" + x + ", " + y + ") " + q.pathMax(x, y) + ", brute force " + expect);
+                            ++failures;
+                        }
+                    }
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,117 @@
+/****************************************************
+*
+*       Pairing heap over vertices, held in primitive
+*       arrays indexed by vertex. decrease-key cuts the
+*       vertex's subtree out and melds it with the root,
+*       remove pairs the root's children in two passes.
+*
+*****************************************************/
+
+class PairingHeap implements PrimQueue
+{
+    private int[] child;      // leftmost child
+    private int[] sibling;    // next sibling to the right
+    private int[] prev;       // left sibling, or the parent for a leftmost child
+    private boolean[] in;
+    private int[] scratch;    // children of the old root during remove
+    private int[] dist;
+    private int root, N;
+
+    public PairingHeap(int maxSize, int[] _dist)
+    {
+        child = new int[maxSize + 1];
+        sibling = new int[maxSize + 1];
+        prev = new int[maxSize + 1];
+        in = new boolean[maxSize + 1];
+        scratch = new int[maxSize + 1];
+        dist = _dist;
+        root = 0;
+        N = 0;
+    }
+
+    public boolean isEmpty()
+    {
+        return N == 0;
+    }
+
+    public boolean contains(int v)
+    {
+        return in[v];
+    }
+
+    public void insert(int v)
+    {
+        child[v] = sibling[v] = prev[v] = 0;
+        in[v] = true;
+        N++;
+        root = (root == 0) ? v : meld(root, v);
+    }
+
+    public void decreaseKey(int v)
+    {
+        if (v == root)
+            return;
+
+        //cut v and its subtree out of its sibling list
+        int p = prev[v];
+        if (child[p] == v)
+            child[p] = sibling[v];
+        else
+            sibling[p] = sibling[v];
+        if (sibling[v] != 0)
+            prev[sibling[v]] = p;
+        sibling[v] = prev[v] = 0;
+
+        root = meld(root, v);
+    }
+
+    public int remove()
+    {
+        int r = root, n = 0, c, i;
+
+        in[r] = false;
+        N--;
+
+        for(c = child[r]; c != 0; c = sibling[c])
+            scratch[n++] = c;
+        for(i = 0; i < n; ++i)
+            sibling[scratch[i]] = prev[scratch[i]] = 0;
+
+        //first pass: meld the children in pairs, left to right
+        for(i = 0; i + 1 < n; i += 2)
+            scratch[i / 2] = meld(scratch[i], scratch[i + 1]);
+        if (n % 2 == 1)
+            scratch[n / 2] = scratch[n - 1];
+        n = (n + 1) / 2;
+
+        //second pass: meld the pairs right to left into one tree
+        root = 0;
+        if (n > 0)
+        {
+            root = scratch[n - 1];
+            for(i = n - 2; i >= 0; --i)
+                root = meld(scratch[i], root);
+        }
+
+        child[r] = 0;
+        return r;
+    }
+
+    // a and b are roots with no siblings; the heavier becomes the leftmost child of the lighter
+    private int meld(int a, int b)
+    {
+        int t;
+        if (dist[b] < dist[a])
+        {
+            t = a;
+            a = b;
+            b = t;
+        }
+        sibling[b] = child[a];
+        if (child[a] != 0)
+            prev[child[a]] = b;
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+}
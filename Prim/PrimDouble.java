@@ -0,0 +1,48 @@
+// Prim's algorithm with double edge weights
+//
+// The int CSRGraph of PrimLists over double weights, for fractional costs:
+// the adjacency is CSR arrays with a double[] of weights, the indexed
+// binary heap is keyed on a double[] dist, and the tree weight is a
+// compensated DoubleWeightSum. No weight is ever boxed.
+//
+// The heap (KeyedVertexHeap) and the CSR layout (CSRArrays.layout) are
+// shared with PrimLong; only the parts that compare or add weights are
+// written out for each type.
+
+import java.io.*;
+import java.util.ArrayList;
+
+public class PrimDouble
+{
+    // java PrimDouble [graph file] [start vertex], with -silent and -out FILE as for PrimLists
+    public static void main(String[] args) throws IOException
+    {
+        ArrayList<String> rest = new ArrayList<String>();
+        String outFile = null;
+        for(int i = 0; i < args.length; ++i)
+        {
+            if (args[i].equals("-silent"))
+                MSTSinks.silent = true;
+            else if (args[i].equals("-out"))
+                outFile = args[++i];
+            else
+                rest.add(args[i]);
+        }
+        String fname = rest.size() > 0 ? rest.get(0) : "wGraph3.txt";
+        int s = rest.size() > 1 ? Integer.parseInt(rest.get(1)) : 1;
+
+        DoubleGraph g = new DoubleGraph(fname, false);
+        g.MST_Prim(s);
+        g.showMST(s);
+
+        if (outFile != null)
+        {
+            try (MSTSink out = MSTSinks.forFile(outFile))
+            {
+                g.writeMST(out);
+            }
+        }
+        if (MSTMetrics.ENABLED)
+            System.out.print("\n" + MSTMetrics.snapshot());
+    }
+}
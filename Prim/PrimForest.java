@@ -0,0 +1,225 @@
+// Minimum spanning forest of a graph that need not be connected
+//
+// MST_Prim only grows the tree of its start vertex. Here the connected
+// components are labelled first, by mst.ParallelBFS, and then a tree is
+// grown in every component, rooted at its lowest vertex. The components
+// share nothing, so a pool of threads takes them largest first, each
+// thread with a priority queue and a neighbour cursor of its own, all
+// writing into the one pair of dist[] and parent[] arrays.
+//
+// Only the WeightedGraph interface is used, so the forest can be grown with
+// any of the queues of PrimQueues on any backend: CSRGraph on or off the
+// heap, or the lists and matrix of the top directory.
+//
+// Every tree is grown by the same sequential loop from the same root
+// whichever thread takes it, so the forest, and each component's weight,
+// is the same for any number of threads.
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import mst.NeighbourCursor;
+import mst.ParallelBFS;
+import mst.WeightedGraph;
+
+class PrimForest
+{
+    private int V;
+    private int count;
+    private int[] comp;       // component of each vertex, 1..count
+    private int[] root;       // lowest vertex of each component
+    private int[] size;       // vertices in each component
+    private long[] weight;    // weight of each component's tree
+    private int[] parent;
+    private int[] dist;       // minus the weight of v--parent[v]
+
+    private PrimForest()
+    {
+    }
+
+    // Grows the forest of g with the named Prim queue on threads threads
+    public static PrimForest run(WeightedGraph g, String queue, int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException("Need at least one thread");
+
+        final PrimForest f = new PrimForest();
+        final int V = g.vertexCount();
+        int v, c;
+
+        MSTRunEvent run = MSTMetrics.beginRun("primForest");
+        MSTPhaseEvent phase = MSTMetrics.begin("primForest", "components");
+        f.V = V;
+        f.comp = new int[V + 1];
+        f.count = ParallelBFS.components(g, f.comp, threads);
+        f.root = new int[f.count + 1];
+        f.size = new int[f.count + 1];
+        f.weight = new long[f.count + 1];
+        for(v = V; v >= 1; --v)
+        {
+            f.root[f.comp[v]] = v;
+            f.size[f.comp[v]]++;
+        }
+        MSTMetrics.end(phase);
+
+        phase = MSTMetrics.begin("primForest", "trees");
+        f.parent = new int[V + 1];
+        f.dist = new int[V + 1];
+        Arrays.fill(f.dist, Integer.MAX_VALUE);
+
+        // components of more than one vertex, largest first to balance the threads
+        int n = 0;
+        long[] order = new long[f.count];
+        for(c = 1; c <= f.count; ++c)
+            if (f.size[c] > 1)
+                order[n++] = ((long) -f.size[c] << 32) | c;
+        Arrays.sort(order, 0, n);
+        final int[] todo = new int[n];
+        for(int i = 0; i < n; ++i)
+            todo[i] = (int) order[i];
+
+        final WeightedGraph graph = g;
+        final String kind = queue;
+        final int[] range = CSRGraph.weightRange(g);
+        final AtomicInteger next = new AtomicInteger();
+        Runnable worker = new Runnable() {
+            public void run()
+            {
+                PrimQueue pq = PrimQueues.create(kind, V, f.dist, range[0], range[1]);
+                NeighbourCursor cursor = graph.neighbours();
+                int i, c;
+                while((i = next.getAndIncrement()) < todo.length)
+                {
+                    c = todo[i];
+                    f.weight[c] = CSRGraph.growTree(cursor, f.root[c], pq, f.dist, f.parent);
+                }
+            }
+        };
+
+        threads = Math.min(threads, Math.max(n, 1));
+        if (threads == 1)
+            worker.run();
+        else
+        {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try
+            {
+                ArrayList<Future<?>> done = new ArrayList<Future<?>>();
+                for(int t = 0; t < threads; ++t)
+                    done.add(pool.submit(worker));
+                for(Future<?> d : done)
+                    d.get();
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while growing the forest", ex);
+            }
+            catch (ExecutionException ex)
+            {
+                throw new IllegalStateException("Growing a tree failed", ex.getCause());
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        MSTMetrics.end(phase);
+        MSTMetrics.endRun(run, f.weight());
+        return f;
+    }
+
+    public int vertices()
+    {
+        return V;
+    }
+
+    public int components()
+    {
+        return count;
+    }
+
+    // Component of v, numbered 1.. in order of their lowest vertex
+    public int component(int v)
+    {
+        return comp[v];
+    }
+
+    public int root(int c)
+    {
+        return root[c];
+    }
+
+    public int size(int c)
+    {
+        return size[c];
+    }
+
+    public long weight(int c)
+    {
+        return weight[c];
+    }
+
+    // Weight of the whole forest
+    public long weight()
+    {
+        long sum = 0;
+        for(int c = 1; c <= count; ++c)
+            sum += weight[c];
+        return sum;
+    }
+
+    // parent[v] in the forest, 0 for the root of each component
+    public int[] parent()
+    {
+        return parent;
+    }
+
+    // Weight of the tree edge v--parent[v]
+    public int edgeWeight(int v)
+    {
+        return -dist[v];
+    }
+
+    // A line per component, then the parent array, unless silent
+    public void showForest()
+    {
+        if (MSTSinks.silent)
+            return;
+        try (MSTSink out = MSTSinks.console())
+        {
+            out.note("\n\nComponents: " + count);
+            for(int c = 1; c <= count; ++c)
+                out.note("Component " + c + " root " + MSTSinks.label(V, root[c]) + ": "
+                         + size[c] + " vertices, weight " + weight[c]);
+            out.note("Weight of minimum spanning forest = " + weight());
+            out.note("\n\nMinimum Spanning forest parent array is:");
+            out.parents(V, parent);
+            out.note("");
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Sends the parent array and then the forest edges v--parent[v] to out
+    public void writeForest(MSTSink out) throws IOException
+    {
+        int n = 0;
+        int[] u = new int[V], t = new int[V], w = new int[V];
+
+        for(int v = 1; v <= V; ++v)
+            if (parent[v] != 0)
+            {
+                u[n] = v;
+                t[n] = parent[v];
+                w[n] = edgeWeight(v);
+                ++n;
+            }
+        out.parents(V, parent);
+        out.edges(V, n, u, t, w);
+    }
+}
@@ -0,0 +1,19 @@
+// What MST_Prim needs of a priority queue of vertices keyed on dist[].
+// PrimQueues has the queues and picks one by name.
+
+interface PrimQueue
+{
+    // v is not in the queue yet, dist[v] is its priority
+    void insert(int v);
+
+    // takes out and returns the vertex with the smallest dist[]
+    int remove();
+
+    // dist[v] has just been lowered for a v already in the queue
+    void decreaseKey(int v);
+
+    // true while v is in the queue
+    boolean contains(int v);
+
+    boolean isEmpty();
+}
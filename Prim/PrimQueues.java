@@ -0,0 +1,45 @@
+// Priority queues of vertices keyed on Prim's dist[] array
+//
+// MST_Prim only needs the operations in PrimQueue, so any of these can be
+// plugged in for a run:
+//    binary   - the original indexed binary VertexHeap
+//    dary     - indexed d-ary heap, "4ary", "8ary" ... picks d (default 4)
+//    pairing  - pairing heap, cheap amortized decrease-key
+//    radix    - vertices bucketed on the leading bits of their key, a pairing heap per bucket
+//    bucket   - Dial's bucket queue, one bucket per weight, for small weights
+//    auto     - bucket when the weights span few enough values, otherwise binary
+
+class PrimQueues
+{
+    // auto picks the bucket queue when the range of keys, heaviest minus
+    // lightest weight, is at most BUCKET_LIMIT, so that remove reads at most
+    // 17 words of its bitmask, and at most BUCKETS_PER_VERTEX times V, so that
+    // making the buckets costs no more than the run. Measured on random
+    // graphs with weights 1..65536, bucket beats binary from V = 1000 up.
+    public static final int BUCKET_LIMIT = 1 << 16;
+    public static final int BUCKETS_PER_VERTEX = 64;
+
+    // minKey and maxKey are the graph's lightest and heaviest edge weights
+    public static PrimQueue create(String kind, int V, int[] dist, int minKey, int maxKey)
+    {
+        if (kind.equals("auto"))
+        {
+            long range = (long) Math.max(maxKey, 0) - Math.min(minKey, 0);
+            kind = range <= BUCKET_LIMIT && range <= (long) BUCKETS_PER_VERTEX * V ? "bucket" : "binary";
+        }
+
+        if (kind.equals("bucket"))
+            return new BucketQueue(minKey, maxKey, V, dist);
+        if (kind.equals("binary"))
+            return new VertexHeap(V, dist, new int[V + 1]);
+        if (kind.equals("dary"))
+            return new DaryHeap(4, V, dist);
+        if (kind.endsWith("ary"))
+            return new DaryHeap(Integer.parseInt(kind.substring(0, kind.length() - 3)), V, dist);
+        if (kind.equals("pairing"))
+            return new PairingHeap(V, dist);
+        if (kind.equals("radix"))
+            return new RadixHeap(V, dist);
+        throw new IllegalArgumentException("Unknown priority queue " + kind);
+    }
+}
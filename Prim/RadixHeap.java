@@ -0,0 +1,205 @@
+/****************************************************
+*
+*       Radix heap style bucket queue. A textbook radix
+*       heap needs keys that never drop below the last
+*       one removed, which Prim's edge weight keys do not
+*       promise, so vertices are bucketed on the leading
+*       bits of their key instead: keys below 64 get a
+*       bucket each, larger keys are split by bit length
+*       and then by the 6 bits after the leading one.
+*       A two level bitmask finds the lowest non-empty
+*       bucket in O(1).
+*
+*       A bucket of keys 128 and up spans 2^(bitlen-7)
+*       keys, so all of 1,000,000,000..1,016,000,000 can
+*       share one, and scanning a bucket would make remove
+*       O(V). Each bucket is therefore a pairing heap, in
+*       arrays indexed by vertex shared by all buckets:
+*       insert is O(1), remove and a decrease-key that
+*       moves a vertex to a lower bucket are O(log n)
+*       amortized in the size n of its bucket, so Prim
+*       runs in O(E log V) at worst and faster when the
+*       keys spread over many buckets.
+*
+*****************************************************/
+
+import java.util.Arrays;
+
+class RadixHeap implements PrimQueue
+{
+    private static final int SUB_BITS = 6;
+    private static final int SUB = 1 << SUB_BITS;
+    // bucket 0 for negative keys, SUB exact buckets, then SUB per bit length 7..31
+    private static final int BUCKETS = 1 + SUB + (31 - SUB_BITS) * SUB;
+
+    private int[] head;       // root of each bucket's pairing heap, 0 when empty
+    private int[] child;      // leftmost child
+    private int[] sibling;    // next sibling to the right
+    private int[] prev;       // left sibling, or the parent for a leftmost child
+    private int[] scratch;    // children of a removed vertex while they are paired
+    private int[] bucketOf;   // bucket holding v, -1 when not in the queue
+    private long[] used;      // bit b set when bucket b is non-empty
+    private long summary;     // bit w set when used[w] != 0
+    private int[] dist;
+    private int N;
+
+    public RadixHeap(int maxSize, int[] _dist)
+    {
+        head = new int[BUCKETS];
+        used = new long[(BUCKETS + 63) / 64];
+        child = new int[maxSize + 1];
+        sibling = new int[maxSize + 1];
+        prev = new int[maxSize + 1];
+        scratch = new int[maxSize + 1];
+        bucketOf = new int[maxSize + 1];
+        Arrays.fill(bucketOf, -1);
+        dist = _dist;
+        N = 0;
+    }
+
+    public boolean isEmpty()
+    {
+        return N == 0;
+    }
+
+    public boolean contains(int v)
+    {
+        return bucketOf[v] >= 0;
+    }
+
+    public void insert(int v)
+    {
+        link(v, bucket(dist[v]));
+        N++;
+    }
+
+    public void decreaseKey(int v)
+    {
+        int b = bucket(dist[v]), old = bucketOf[v];
+
+        if (b == old)
+        {
+            // as PairingHeap: cut v's subtree out and meld it with the root
+            if (v != head[b])
+            {
+                cut(v);
+                head[b] = meld(head[b], v);
+            }
+            return;
+        }
+
+        // v's children stay behind in the old bucket, v alone moves down
+        if (v == head[old])
+            head[old] = pairChildren(v);
+        else
+        {
+            cut(v);
+            int rest = pairChildren(v);
+            if (rest != 0)
+                head[old] = meld(head[old], rest);
+        }
+        if (head[old] == 0)
+            clearUsed(old);
+        link(v, b);
+    }
+
+    public int remove()
+    {
+        int w = Long.numberOfTrailingZeros(summary);
+        int b = w * 64 + Long.numberOfTrailingZeros(used[w]);
+        int r = head[b];
+
+        head[b] = pairChildren(r);
+        if (head[b] == 0)
+            clearUsed(b);
+        bucketOf[r] = -1;
+        N--;
+        return r;
+    }
+
+    // buckets are in key order: every key in bucket b is below every key in bucket b+1
+    private static int bucket(int key)
+    {
+        if (key < 0)
+            return 0;
+        if (key < SUB)
+            return 1 + key;
+
+        int len = 32 - Integer.numberOfLeadingZeros(key);
+        int top = (key >>> (len - SUB_BITS - 1)) & (SUB - 1);
+        return 1 + SUB + (len - SUB_BITS - 1) * SUB + top;
+    }
+
+    // v, with no children or siblings, joins bucket b
+    private void link(int v, int b)
+    {
+        child[v] = sibling[v] = prev[v] = 0;
+        head[b] = (head[b] == 0) ? v : meld(head[b], v);
+        bucketOf[v] = b;
+        used[b >>> 6] |= 1L << b;
+        summary |= 1L << (b >>> 6);
+    }
+
+    private void clearUsed(int b)
+    {
+        if ((used[b >>> 6] &= ~(1L << b)) == 0)
+            summary &= ~(1L << (b >>> 6));
+    }
+
+    // takes v and its subtree out of its sibling list; v is not a root
+    private void cut(int v)
+    {
+        int p = prev[v];
+        if (child[p] == v)
+            child[p] = sibling[v];
+        else
+            sibling[p] = sibling[v];
+        if (sibling[v] != 0)
+            prev[sibling[v]] = p;
+        sibling[v] = prev[v] = 0;
+    }
+
+    // melds v's children in PairingHeap's two passes and returns the
+    // root they make, 0 when v has none; v is left with no children
+    private int pairChildren(int v)
+    {
+        int n = 0, c, i, r;
+
+        for(c = child[v]; c != 0; c = sibling[c])
+            scratch[n++] = c;
+        for(i = 0; i < n; ++i)
+            sibling[scratch[i]] = prev[scratch[i]] = 0;
+        child[v] = 0;
+
+        for(i = 0; i + 1 < n; i += 2)
+            scratch[i / 2] = meld(scratch[i], scratch[i + 1]);
+        if (n % 2 == 1)
+            scratch[n / 2] = scratch[n - 1];
+        n = (n + 1) / 2;
+
+        if (n == 0)
+            return 0;
+        r = scratch[n - 1];
+        for(i = n - 2; i >= 0; --i)
+            r = meld(scratch[i], r);
+        return r;
+    }
+
+    // a and b are roots with no siblings; the heavier becomes the leftmost child of the lighter
+    private int meld(int a, int b)
+    {
+        int t;
+        if (dist[b] < dist[a])
+        {
+            t = a;
+            a = b;
+            b = t;
+        }
+        sibling[b] = child[a];
+        if (child[a] != 0)
+            prev[child[a]] = b;
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+}
@@ -0,0 +1,118 @@
+// Indexed binary heap of vertices keyed on dist[], the original queue of
+// MST_Prim and the "binary" queue of PrimQueues
+
+class VertexHeap implements PrimQueue
+{
+    private int[] h;	   // heap array
+    public int[] hPos;	   // hPos[h[k]] == k
+    private int[] dist;    // dist[v] = priority of v
+
+    private int N;         // heap size
+   
+    // The heap constructor gets passed from the CSRGraph:
+    //    1. maximum heap size
+    //    2. reference to the dist[] array
+    //    3. reference to the hPos[] array
+    public VertexHeap(int maxSize, int[] _dist, int[] _hPos) 
+    {
+        N = 0;
+        h = new int[maxSize + 1];
+        //Point to the arrays
+        dist = _dist;
+        hPos = _hPos;
+        dist[0] = 0;
+    }
+
+
+    public boolean isEmpty() 
+    {
+        return N == 0;
+    }
+
+
+    public boolean contains( int v) 
+    {
+        return hPos[v] != 0;
+    }
+
+
+    public void decreaseKey( int v) 
+    {
+        siftUp(hPos[v]);
+    }
+
+
+    public void siftUp( int k) 
+    {
+        int v = h[k];
+        int levels = 0;
+        h[0] = 0;
+        // k / 2 is 0 on first iteration
+        //While infinity < 0
+        while( dist[v] < dist[h[k / 2]]) 
+        {
+            //System.out.println("a[k / 2] inside loop = " + a[k / 2]);
+            h[k] = h[k / 2];
+            //Saying hPos[numberDealingWith] = Postion in heap
+            hPos[h[k]] = k;
+            k = k /  2;
+            ++levels;
+        }
+
+        h[k] = v;
+        hPos[v] = k;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.siftUp(levels);
+    }
+
+    public void siftDown( int k) 
+    {
+        int v, j;
+        int levels = 0;
+        //Assign element we will be shifting top v
+        v = h[k];
+
+        //While k has a child, pull the closer of its children up past v
+        while(2 * k <= N)
+        {
+            j = 2 * k;
+            if (j < N && dist[h[j + 1]] < dist[h[j]])
+                ++j;
+
+            if (dist[v] <= dist[h[j]])
+                break;
+
+            h[k] = h[j];
+            hPos[h[k]] = k;
+            k = j;
+            ++levels;
+        }//end while
+        //Finally assig the node we are sifting to its correct position
+        h[k] = v;
+        hPos[v] = k;
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.siftDown(levels);
+    }
+
+
+    public void insert( int x) 
+    {
+        h[++N] = x;
+        siftUp( N);
+    }
+
+
+    public int remove() 
+    {   
+        int v = h[1];
+        hPos[v] = 0; // v is no longer in heap
+        
+        h[1] = h[N--];
+        if (N > 0)
+            siftDown(1);
+        if (MSTMetrics.ENABLED)
+            MSTMetrics.remove();
+        
+        return v;
+    }
+}
@@ -0,0 +1,74 @@
+// The lines the programs always printed, "Edge A--2--E" and "B -> A"
+
+import java.io.*;
+
+class TextSink extends BufferedSink
+{
+    TextSink(OutputStream out, boolean closeStream)
+    {
+        super(out, closeStream);
+    }
+
+    public void note(String line) throws IOException
+    {
+        put(line);
+        put('\n');
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, int[] wgt) throws IOException
+    {
+        for(int i = 0; i < n; ++i)
+        {
+            start(V, u[i]);
+            putNumber(wgt[i]);
+            end(V, v[i]);
+        }
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, long[] wgt) throws IOException
+    {
+        for(int i = 0; i < n; ++i)
+        {
+            start(V, u[i]);
+            putNumber(wgt[i]);
+            end(V, v[i]);
+        }
+    }
+
+    public void edges(int V, int n, int[] u, int[] v, double[] wgt) throws IOException
+    {
+        for(int i = 0; i < n; ++i)
+        {
+            start(V, u[i]);
+            put(String.valueOf(wgt[i]));
+            end(V, v[i]);
+        }
+    }
+
+    // "Edge u--" and then "--v" after the weight
+    private void start(int V, int u) throws IOException
+    {
+        put("Edge ");
+        putVertex(V, u);
+        put("--");
+    }
+
+    private void end(int V, int v) throws IOException
+    {
+        put("--");
+        putVertex(V, v);
+        put('\n');
+    }
+
+    public void parents(int V, int[] parent) throws IOException
+    {
+        for(int v = 1; v <= V; ++v)
+            if (parent[v] != 0)
+            {
+                putVertex(V, v);
+                put(" -> ");
+                putVertex(V, parent[v]);
+                put('\n');
+            }
+    }
+}
@@ -0,0 +1,20 @@
+package mstbench;
+
+import java.io.IOException;
+
+// Kruskal's EdgeArrayGraph, EdgeHeap and UnionFindSets, implemented by KruskalAdapter in the kruskal module
+public interface KruskalTarget
+{
+    void load(String graphFile) throws IOException;
+
+    // engine is heap, sort, boruvka or filter, as for KruskalTrees
+    void kruskal(String engine);
+
+    // builds Kruskal's EdgeHeap over the loaded edges, and with drain removes them all;
+    // returns a value depending on the work so it is not optimised away
+    int heap(boolean drain);
+
+    // for each pair (a[i], b[i]) finds both sets and joins them if different;
+    // returns the number of unions
+    int unionFind(int V, int[] a, int[] b, boolean compress);
+}
@@ -0,0 +1,18 @@
+package mstbench;
+
+import java.io.IOException;
+
+// The shared loaders, implemented by LoadAdapter in the prim module
+public interface LoadTarget
+{
+    // text file through EdgeListLoader, returns the edge count
+    int loadText(String graphFile) throws IOException;
+
+    // GraphBinary file, returns the edge count
+    int loadBinary(String binFile) throws IOException;
+
+    // text file into CSR arrays, returns the number of adjacency entries
+    int loadCSR(String graphFile) throws IOException;
+
+    void writeBinary(String graphFile, String binFile) throws IOException;
+}
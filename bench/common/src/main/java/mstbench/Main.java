@@ -0,0 +1,27 @@
+package mstbench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs JMH with the results written as JSON to jmh-result.json,
+// unless the arguments pick another format or file
+public class Main
+{
+    public static void main(String[] args) throws Exception
+    {
+        List<String> a = new ArrayList<String>(Arrays.asList(args));
+
+        if (!a.contains("-rf"))
+        {
+            a.add("-rf");
+            a.add("json");
+        }
+        if (!a.contains("-rff"))
+        {
+            a.add("-rff");
+            a.add("jmh-result.json");
+        }
+        org.openjdk.jmh.Main.main(a.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,11 @@
+package mstbench;
+
+import java.io.IOException;
+
+// Prim's CSRGraph, implemented by PrimAdapter in the prim module
+public interface PrimTarget
+{
+    void load(String graphFile) throws IOException;
+
+    void prim(int s, String queue);
+}
@@ -0,0 +1,30 @@
+package mstbench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// The benches fork with -Dmst.silent=true so the MST routines skip their
+// output altogether; anything still printed while a benchmark runs
+// is thrown away rather than written to the console
+public class Silence
+{
+    private static PrintStream saved;
+
+    public static synchronized void on()
+    {
+        if (saved == null)
+        {
+            saved = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+
+    public static synchronized void off()
+    {
+        if (saved != null)
+        {
+            System.setOut(saved);
+            saved = null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package mstbench;
+
+import java.io.*;
+import java.util.SplittableRandom;
+
+// Random connected graphs in the "V E" / "u v w" text format, written once
+// to a cache directory and reused by every trial with the same parameters.
+//
+// V vertices, a random spanning tree plus random edges up to an average
+// degree of degree, weights drawn from one of:
+//     uniform      1 .. 100000
+//     small        1 .. 16, the case where Prim picks a bucket queue
+//     exponential  1 + 1000 * Exp(1), many light edges and a long tail
+public class SyntheticGraphs
+{
+    public static final long SEED = 42;
+
+    private static final File CACHE =
+        new File(System.getProperty("mstbench.cache", System.getProperty("java.io.tmpdir")), "mstbench");
+
+    public static File text(int V, int degree, String weights) throws IOException
+    {
+        File f = new File(CACHE, "g-" + V + "-" + degree + "-" + weights + ".txt");
+        if (f.exists())
+            return f;
+
+        CACHE.mkdirs();
+        File tmp = File.createTempFile("graph", ".part", CACHE);
+        long E = Math.max((long) V - 1, (long) V * degree / 2);
+        SplittableRandom r = new SplittableRandom(SEED);
+        int u, v;
+
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(tmp), 1 << 16)))
+        {
+            out.println(V + " " + E);
+            for(long e = 0; e < E; ++e)
+            {
+                if (e < V - 1)
+                {
+                    // vertex e+2 hangs from a vertex before it, so the graph is connected
+                    v = (int) e + 2;
+                    u = 1 + r.nextInt(v - 1);
+                }
+                else
+                {
+                    u = 1 + r.nextInt(V);
+                    do
+                        v = 1 + r.nextInt(V);
+                    while(v == u);
+                }
+                out.println(u + " " + v + " " + weight(r, weights));
+            }
+        }
+        if (!tmp.renameTo(f) && !f.exists())
+            throw new IOException("Cannot create " + f);
+        return f;
+    }
+
+    private static int weight(SplittableRandom r, String weights)
+    {
+        if (weights.equals("uniform"))
+            return 1 + r.nextInt(100000);
+        if (weights.equals("small"))
+            return 1 + r.nextInt(16);
+        if (weights.equals("exponential"))
+            return 1 + (int) Math.min(1e9, -1000 * Math.log(1 - r.nextDouble()));
+        throw new IllegalArgumentException("Unknown weight distribution " + weights);
+    }
+}
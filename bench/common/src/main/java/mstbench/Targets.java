@@ -0,0 +1,19 @@
+package mstbench;
+
+// Creates the adapter classes, which are in the default package and so
+// cannot be named from here; each module provides its own
+public class Targets
+{
+    @SuppressWarnings("unchecked")
+    public static <T> T create(String className)
+    {
+        try
+        {
+            return (T) Class.forName(className).getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException ex)
+        {
+            throw new IllegalStateException("No benchmark adapter " + className, ex);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package mstbench;
+
+// Prim's vertex heaps on their own, implemented by HeapAdapter in the prim module
+public interface VertexHeapTarget
+{
+    // heap is "int" for VertexHeap over an int[] dist, "keyed" for a
+    // KeyedVertexHeap over the same int[] dist and "long" for LongHeap.
+    // Inserts vertices 1..key.length-1 with those keys, then until the heap
+    // is empty removes the minimum and halves the keys of the next perRemove
+    // vertices of cut[] that are still in it, as Prim's relaxations would;
+    // returns a value depending on the order of removal
+    long drain(String heap, int[] key, int[] cut, int perRemove);
+}
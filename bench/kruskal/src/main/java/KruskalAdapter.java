@@ -0,0 +1,62 @@
+// Lets the mstbench benchmarks, which are in a named package, run Kruskal's
+// EdgeArrayGraph, EdgeHeap and UnionFindSets
+
+import java.io.IOException;
+import mstbench.KruskalTarget;
+
+public class KruskalAdapter implements KruskalTarget
+{
+    private EdgeArrayGraph g;
+    private Edge[] edge;
+    private int E;
+
+    public void load(String graphFile) throws IOException
+    {
+        g = new EdgeArrayGraph(graphFile, true);
+
+        // the heap benchmarks get their own copy of the edges, EdgeArrayGraph keeps its private
+        EdgeList el = EdgeListLoader.load(graphFile, true);
+        E = el.E;
+        edge = new Edge[E + 1];
+        for(int e = 1; e <= E; ++e)
+            edge[e] = new Edge(el.u[e-1], el.v[e-1], el.wgt[e-1]);
+    }
+
+    public void kruskal(String engine)
+    {
+        if (engine.equals("sort"))
+            g.MST_KruskalSorted();
+        else if (engine.equals("boruvka"))
+            g.MST_Boruvka();
+        else if (engine.equals("filter"))
+            g.MST_FilterKruskal();
+        else
+            g.MST_Kruskal();
+    }
+
+    public int heap(boolean drain)
+    {
+        EdgeHeap h = new EdgeHeap(E, edge);
+        int sum = 0;
+
+        if (!drain)
+            return h.N;
+        while(!h.isEmpty())
+            sum += h.remove().getWeight();
+        return sum;
+    }
+
+    public int unionFind(int V, int[] a, int[] b, boolean compress)
+    {
+        UnionFindSets sets = new UnionFindSets(V, compress);
+        int unions = 0;
+
+        for(int i = 0; i < a.length; ++i)
+            if (sets.findSet(a[i]) != sets.findSet(b[i]))
+            {
+                sets.union(a[i], b[i]);
+                unions++;
+            }
+        return unions;
+    }
+}
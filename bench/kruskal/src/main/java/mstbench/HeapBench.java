@@ -0,0 +1,45 @@
+package mstbench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Kruskal's EdgeHeap: bottom up construction over all the edges, and
+// construction followed by removing every edge
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeapBench
+{
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    @Param({"4", "32"})
+    public int degree;
+
+    @Param({"uniform", "small", "exponential"})
+    public String weights;
+
+    private KruskalTarget kruskal;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        kruskal = Targets.create("KruskalAdapter");
+        kruskal.load(SyntheticGraphs.text(vertices, degree, weights).getPath());
+    }
+
+    @Benchmark
+    public int build()
+    {
+        return kruskal.heap(false);
+    }
+
+    @Benchmark
+    public int buildAndDrain()
+    {
+        return kruskal.heap(true);
+    }
+}
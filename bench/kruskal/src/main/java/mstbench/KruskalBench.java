@@ -0,0 +1,60 @@
+package mstbench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Kruskal on random graphs, with the graph already loaded (mst) and from
+// the file onwards (endToEnd), for each engine of KruskalTrees
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dmst.silent=true")
+public class KruskalBench
+{
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    // average degree
+    @Param({"4", "32"})
+    public int degree;
+
+    @Param({"uniform", "small", "exponential"})
+    public String weights;
+
+    @Param({"heap", "sort", "filter", "boruvka"})
+    public String engine;
+
+    private String file;
+    private KruskalTarget kruskal;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        file = SyntheticGraphs.text(vertices, degree, weights).getPath();
+        kruskal = Targets.create("KruskalAdapter");
+        kruskal.load(file);
+        Silence.on();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        Silence.off();
+    }
+
+    @Benchmark
+    public void mst()
+    {
+        kruskal.kruskal(engine);
+    }
+
+    @Benchmark
+    public void endToEnd() throws Exception
+    {
+        KruskalTarget k = Targets.create("KruskalAdapter");
+        k.load(file);
+        k.kruskal(engine);
+    }
+}
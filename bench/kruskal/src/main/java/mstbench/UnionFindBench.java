@@ -0,0 +1,50 @@
+package mstbench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// UnionFindSets on random pairs, pairsPerVertex * V finds of both ends and a
+// union when they differ, with and without union by rank and path halving
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnionFindBench
+{
+    @Param({"10000", "1000000"})
+    public int vertices;
+
+    @Param({"1", "8"})
+    public int pairsPerVertex;
+
+    @Param({"true", "false"})
+    public boolean compress;
+
+    private int[] a, b;
+    private KruskalTarget kruskal;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        SplittableRandom r = new SplittableRandom(SyntheticGraphs.SEED);
+        int n = vertices * pairsPerVertex;
+
+        a = new int[n];
+        b = new int[n];
+        for(int i = 0; i < n; ++i)
+        {
+            a[i] = 1 + r.nextInt(vertices);
+            b[i] = 1 + r.nextInt(vertices);
+        }
+        kruskal = Targets.create("KruskalAdapter");
+    }
+
+    @Benchmark
+    public int pairs()
+    {
+        return kruskal.unionFind(vertices, a, b, compress);
+    }
+}
@@ -0,0 +1,102 @@
+// Lets VertexHeapBench, which is in a named package, drive Prim's vertex heaps
+// with the same sequence of operations, so that the int VertexHeap, with its
+// compare written inline, can be set against KeyedVertexHeap, which compares
+// through less()
+
+import mstbench.VertexHeapTarget;
+
+public class HeapAdapter implements VertexHeapTarget
+{
+    // KeyedVertexHeap over an int[] dist: the same keys as VertexHeap and
+    // only the virtual less() between them
+    private static class IntKeyedHeap extends KeyedVertexHeap implements PrimQueue
+    {
+        private int[] dist;
+
+        IntKeyedHeap(int maxSize, int[] _dist)
+        {
+            super(maxSize);
+            dist = _dist;
+        }
+
+        protected boolean less(int a, int b)
+        {
+            return dist[a] < dist[b];
+        }
+    }
+
+    public long drain(String heap, int[] key, int[] cut, int perRemove)
+    {
+        if (heap.equals("long"))
+            return drainLong(key, cut, perRemove);
+
+        int V = key.length - 1;
+        int[] dist = key.clone();
+        PrimQueue pq;
+
+        if (heap.equals("int"))
+            pq = new VertexHeap(V, dist, new int[V + 1]);
+        else if (heap.equals("keyed"))
+            pq = new IntKeyedHeap(V, dist);
+        else
+            throw new IllegalArgumentException("Unknown heap " + heap);
+
+        int v, x, i, c = 0;
+        long order = 0;
+
+        for(v = 1; v <= V; ++v)
+            pq.insert(v);
+
+        while(!pq.isEmpty())
+        {
+            v = pq.remove();
+            order = order * 31 + v;
+            for(i = 0; i < perRemove; ++i)
+            {
+                x = cut[c++];
+                if (c == cut.length)
+                    c = 0;
+                if (pq.contains(x))
+                {
+                    dist[x] /= 2;
+                    pq.decreaseKey(x);
+                }
+            }
+        }
+        return order;
+    }
+
+    // As drain, for LongHeap over a long[] dist, called directly as PrimLong does
+    private static long drainLong(int[] key, int[] cut, int perRemove)
+    {
+        int V = key.length - 1;
+        long[] dist = new long[V + 1];
+        LongHeap pq = new LongHeap(V, dist);
+        int v, x, i, c = 0;
+        long order = 0;
+
+        for(v = 1; v <= V; ++v)
+        {
+            dist[v] = key[v];
+            pq.insert(v);
+        }
+
+        while(!pq.isEmpty())
+        {
+            v = pq.remove();
+            order = order * 31 + v;
+            for(i = 0; i < perRemove; ++i)
+            {
+                x = cut[c++];
+                if (c == cut.length)
+                    c = 0;
+                if (pq.contains(x))
+                {
+                    dist[x] /= 2;
+                    pq.decreaseKey(x);
+                }
+            }
+        }
+        return order;
+    }
+}
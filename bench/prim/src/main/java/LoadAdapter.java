@@ -0,0 +1,27 @@
+// Lets the mstbench benchmarks, which are in a named package, run the shared loaders
+
+import java.io.IOException;
+import mstbench.LoadTarget;
+
+public class LoadAdapter implements LoadTarget
+{
+    public int loadText(String graphFile) throws IOException
+    {
+        return EdgeListLoader.load(graphFile, true).E;
+    }
+
+    public int loadBinary(String binFile) throws IOException
+    {
+        return GraphBinary.readEdges(binFile).E;
+    }
+
+    public int loadCSR(String graphFile) throws IOException
+    {
+        return CSRArrays.build(EdgeListLoader.load(graphFile, true)).targets.length;
+    }
+
+    public void writeBinary(String graphFile, String binFile) throws IOException
+    {
+        GraphBinary.writeEdges(binFile, EdgeListLoader.load(graphFile, true));
+    }
+}
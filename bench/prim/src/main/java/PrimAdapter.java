@@ -0,0 +1,19 @@
+// Lets the mstbench benchmarks, which are in a named package, run Prim's CSRGraph
+
+import java.io.IOException;
+import mstbench.PrimTarget;
+
+public class PrimAdapter implements PrimTarget
+{
+    private CSRGraph g;
+
+    public void load(String graphFile) throws IOException
+    {
+        g = new CSRGraph(graphFile, true);
+    }
+
+    public void prim(int s, String queue)
+    {
+        g.MST_Prim(s, queue);
+    }
+}
@@ -0,0 +1,57 @@
+package mstbench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Reading a graph file: text through EdgeListLoader, the same graph as a
+// GraphBinary file, and text on into Prim's CSR arrays
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dmst.silent=true")
+public class LoadBench
+{
+    @Param({"10000", "100000", "1000000"})
+    public int vertices;
+
+    @Param({"4", "32"})
+    public int degree;
+
+    @Param({"uniform"})
+    public String weights;
+
+    private String text, binary;
+    private LoadTarget load;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        File f = SyntheticGraphs.text(vertices, degree, weights);
+        text = f.getPath();
+        binary = text.replace(".txt", ".bin");
+        load = Targets.create("LoadAdapter");
+        if (!new File(binary).exists())
+            load.writeBinary(text, binary);
+    }
+
+    @Benchmark
+    public int text() throws Exception
+    {
+        return load.loadText(text);
+    }
+
+    @Benchmark
+    public int binary() throws Exception
+    {
+        return load.loadBinary(binary);
+    }
+
+    @Benchmark
+    public int csr() throws Exception
+    {
+        return load.loadCSR(text);
+    }
+}
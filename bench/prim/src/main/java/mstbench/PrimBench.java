@@ -0,0 +1,60 @@
+package mstbench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Prim on random graphs, with the graph already loaded (mst) and from the
+// file onwards (endToEnd), for each of Prim's priority queues
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dmst.silent=true")
+public class PrimBench
+{
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    // average degree
+    @Param({"4", "32"})
+    public int degree;
+
+    @Param({"uniform", "small", "exponential"})
+    public String weights;
+
+    @Param({"auto", "binary", "4ary", "pairing", "radix"})
+    public String queue;
+
+    private String file;
+    private PrimTarget prim;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        file = SyntheticGraphs.text(vertices, degree, weights).getPath();
+        prim = Targets.create("PrimAdapter");
+        prim.load(file);
+        Silence.on();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        Silence.off();
+    }
+
+    @Benchmark
+    public void mst()
+    {
+        prim.prim(1, queue);
+    }
+
+    @Benchmark
+    public void endToEnd() throws Exception
+    {
+        PrimTarget p = Targets.create("PrimAdapter");
+        p.load(file);
+        p.prim(1, queue);
+    }
+}
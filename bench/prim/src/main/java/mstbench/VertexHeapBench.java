@@ -0,0 +1,52 @@
+package mstbench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Prim's vertex heaps alone: the int VertexHeap with its compare inline,
+// KeyedVertexHeap over the same int keys through its virtual less(), and
+// LongHeap, the heap of PrimLong. Every vertex is inserted and the heap
+// drained, with degree decrease-keys after each remove as Prim would make.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VertexHeapBench
+{
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    // decrease-key attempts per remove
+    @Param({"4", "32"})
+    public int degree;
+
+    @Param({"int", "keyed", "long"})
+    public String heap;
+
+    private int[] key;
+    private int[] cut;
+    private VertexHeapTarget target;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        SplittableRandom r = new SplittableRandom(42);
+
+        key = new int[vertices + 1];
+        for(int v = 1; v <= vertices; ++v)
+            key[v] = 1 + r.nextInt(1 << 30);
+        cut = new int[vertices * degree];
+        for(int i = 0; i < cut.length; ++i)
+            cut[i] = 1 + r.nextInt(vertices);
+        target = Targets.create("HeapAdapter");
+    }
+
+    @Benchmark
+    public long drain()
+    {
+        return target.drain(heap, key, cut, degree);
+    }
+}
@@ -0,0 +1,17 @@
+package mst;
+
+// Every edge of a graph once, see WeightedGraph.edges()
+//
+//     EdgeCursor c = g.edges();
+//     while(c.next())
+//         use(c.u(), c.v(), c.weight());
+public interface EdgeCursor
+{
+    // Moves to the next edge, false when there are no more
+    boolean next();
+
+    // The end points and weight of the edge the cursor is on
+    int u();
+    int v();
+    int weight();
+}
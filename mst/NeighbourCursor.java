@@ -0,0 +1,21 @@
+package mst;
+
+// The neighbours of one vertex at a time, see WeightedGraph.neighbours().
+// An edge from a vertex to itself makes the vertex its own neighbour.
+//
+//     NeighbourCursor c = g.neighbours();
+//     c.reset(v);
+//     while(c.next())
+//         use(c.target(), c.weight());
+public interface NeighbourCursor
+{
+    // Starts over at the first neighbour of v
+    void reset(int v);
+
+    // Moves to the next neighbour, false when there are no more
+    boolean next();
+
+    // The neighbour the cursor is on and the weight of the edge to it
+    int target();
+    int weight();
+}
@@ -0,0 +1,275 @@
+package mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Breadth first search and connected components on any WeightedGraph,
+// spread over a number of threads
+//
+// While the frontier is small a level is expanded top down: each thread
+// takes a share of the frontier and claims the unvisited neighbours with a
+// compare and set. Once the edges out of the frontier are more than 1/ALPHA
+// of those not yet explored it goes bottom up instead: every unvisited
+// vertex looks through its own neighbours for one in the frontier and stops
+// at the first, which skips most of the edges of the big middle levels of
+// a low diameter graph. It goes back to top down when the frontier drops
+// below V / BETA vertices. (Beamer, Asanovic and Patterson's
+// direction-optimizing BFS.)
+//
+// A level's vertices do not depend on which thread found them, so the
+// levels and the components are the same for any number of threads.
+public final class ParallelBFS
+{
+    static final int ALPHA = 14;
+    static final int BETA = 24;
+
+    // a step over fewer vertices than this runs on the calling thread alone
+    static final int GRAIN = 4096;
+
+    private final int V, threads;
+    private final ExecutorService pool;         // threads - 1 helpers, null for one thread
+    private final NeighbourCursor[] cursors;    // one per thread
+    private final AtomicIntegerArray level;     // -1 until reached
+    private final int[] degree;
+    private final int[][] found;                // each thread's part of the next frontier
+    private final int[] foundCount;
+    private final long[] foundEdges;            // and the degree sum of that part
+    private int[] frontier, next;
+    private int size;
+    private long frontierEdges, unexplored;
+
+    private ParallelBFS(WeightedGraph g, int _threads)
+    {
+        if (_threads < 1)
+            throw new IllegalArgumentException("Need at least one thread");
+
+        V = g.vertexCount();
+        threads = _threads;
+        pool = threads > 1 ? Executors.newFixedThreadPool(threads - 1) : null;
+        cursors = new NeighbourCursor[threads];
+        found = new int[threads][];
+        foundCount = new int[threads];
+        foundEdges = new long[threads];
+        for(int w = 0; w < threads; ++w)
+        {
+            cursors[w] = g.neighbours();
+            found[w] = new int[16];
+        }
+        level = new AtomicIntegerArray(V + 1);
+        degree = new int[V + 1];
+        frontier = new int[V];
+        next = new int[V];
+    }
+
+    // The level of every vertex, its distance in edges from s, or -1 when s
+    // does not reach it
+    public static int[] levels(WeightedGraph g, int s, int threads)
+    {
+        if (s < 1 || s > g.vertexCount())
+            throw new IllegalArgumentException("Start vertex " + s + " is not in the graph");
+
+        ParallelBFS b = new ParallelBFS(g, threads);
+        try
+        {
+            b.prepare();
+            b.search(s, null, 0);
+            int[] lv = new int[b.V + 1];
+            lv[0] = -1;
+            for(int v = 1; v <= b.V; ++v)
+                lv[v] = b.level.get(v);
+            return lv;
+        }
+        finally
+        {
+            b.close();
+        }
+    }
+
+    // Labels the component of every vertex 1, 2, ... in order of their lowest
+    // vertex into comp[1..V] and returns the number of components
+    public static int components(WeightedGraph g, int[] comp, int threads)
+    {
+        ParallelBFS b = new ParallelBFS(g, threads);
+        int count = 0;
+        try
+        {
+            b.prepare();
+            for(int v = 1; v <= b.V; ++v)
+                if (b.level.get(v) < 0)
+                    b.search(v, comp, ++count);
+            return count;
+        }
+        finally
+        {
+            b.close();
+        }
+    }
+
+    private void close()
+    {
+        if (pool != null)
+            pool.shutdown();
+    }
+
+    // Marks every vertex unreached and counts the degrees
+    private void prepare()
+    {
+        for(int v = 0; v <= V; ++v)
+            level.set(v, -1);
+
+        run(V, (w, lo, hi) -> {
+            NeighbourCursor c = cursors[w];
+            int d;
+            for(int v = lo + 1; v <= hi; ++v)
+            {
+                c.reset(v);
+                for(d = 0; c.next(); ++d)
+                    ;
+                degree[v] = d;
+            }
+        });
+
+        unexplored = 0;
+        for(int v = 1; v <= V; ++v)
+            unexplored += degree[v];
+    }
+
+    // One search from s, labelling what it reaches c in comp when that is
+    // not null. Returns the number of vertices reached.
+    private int search(int s, int[] comp, int c)
+    {
+        int depth = 0, reached = 1, w, i;
+        boolean bottomUp = false;
+
+        level.set(s, 0);
+        if (comp != null)
+            comp[s] = c;
+        frontier[0] = s;
+        size = 1;
+        frontierEdges = degree[s];
+        unexplored -= degree[s];
+
+        while(size > 0)
+        {
+            // bottom up only pays while the frontier is a good part of the graph,
+            // which also keeps the last few small components top down
+            bottomUp = size >= V / BETA && (bottomUp || frontierEdges > unexplored / ALPHA);
+
+            final int d = depth;
+            if (bottomUp)
+                run(V, (t, lo, hi) -> bottomUpStep(t, lo + 1, hi + 1, d));
+            else
+                run(size, (t, lo, hi) -> topDownStep(t, lo, hi, d));
+
+            // the next frontier, in thread order
+            size = 0;
+            frontierEdges = 0;
+            for(w = 0; w < threads; ++w)
+            {
+                System.arraycopy(found[w], 0, next, size, foundCount[w]);
+                size += foundCount[w];
+                frontierEdges += foundEdges[w];
+            }
+            int[] tmp = frontier;
+            frontier = next;
+            next = tmp;
+
+            unexplored -= frontierEdges;
+            reached += size;
+            if (comp != null)
+                for(i = 0; i < size; ++i)
+                    comp[frontier[i]] = c;
+            ++depth;
+        }
+        return reached;
+    }
+
+    // Claims the unreached neighbours of frontier[lo..hi)
+    private void topDownStep(int w, int lo, int hi, int d)
+    {
+        NeighbourCursor c = cursors[w];
+        int t;
+        for(int i = lo; i < hi; ++i)
+        {
+            c.reset(frontier[i]);
+            while(c.next())
+            {
+                t = c.target();
+                if (level.get(t) < 0 && level.compareAndSet(t, -1, d + 1))
+                    add(w, t);
+            }
+        }
+    }
+
+    // Each unreached vertex of lo..hi) joins level d + 1 if it has a
+    // neighbour on level d. Only this thread writes level[v] for these v.
+    private void bottomUpStep(int w, int lo, int hi, int d)
+    {
+        NeighbourCursor c = cursors[w];
+        for(int v = lo; v < hi; ++v)
+        {
+            if (level.get(v) >= 0)
+                continue;
+            c.reset(v);
+            while(c.next())
+                if (level.get(c.target()) == d)
+                {
+                    level.set(v, d + 1);
+                    add(w, v);
+                    break;
+                }
+        }
+    }
+
+    private void add(int w, int v)
+    {
+        if (foundCount[w] == found[w].length)
+            found[w] = Arrays.copyOf(found[w], 2 * found[w].length);
+        found[w][foundCount[w]++] = v;
+        foundEdges[w] += degree[v];
+    }
+
+    interface RangeBody
+    {
+        void run(int w, int lo, int hi);
+    }
+
+    // Splits 0..n) into one range per thread, running the first on the
+    // calling thread, or all of it there when n is small
+    private void run(int n, RangeBody body)
+    {
+        int parts = n < GRAIN ? 1 : threads;
+
+        Arrays.fill(foundCount, 0);
+        Arrays.fill(foundEdges, 0);
+        if (parts == 1)
+        {
+            body.run(0, 0, n);
+            return;
+        }
+
+        ArrayList<Future<?>> done = new ArrayList<Future<?>>();
+        for(int w = 1; w < parts; ++w)
+        {
+            final int t = w;
+            done.add(pool.submit(() -> body.run(t, (int) ((long) n * t / parts), (int) ((long) n * (t + 1) / parts))));
+        }
+        body.run(0, 0, n / parts);
+        try
+        {
+            for(Future<?> f : done)
+                f.get();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during a search", ex);
+        }
+        catch (ExecutionException ex)
+        {
+            throw new IllegalStateException("A search step failed", ex.getCause());
+        }
+    }
+}
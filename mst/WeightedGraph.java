@@ -0,0 +1,30 @@
+package mst;
+
+// A read-only undirected graph with int edge weights
+//
+// Vertices are numbered 1..vertexCount(), as in the graph files. The graph
+// is read through cursors that hand out one neighbour or edge at a time as
+// primitives, so an algorithm written against this interface runs on any
+// representation without allocating per edge and without knowing how the
+// edges are stored. The backends are:
+//     GraphLists      adjacency linked lists
+//     GraphMatrix     adjacency matrix, parallel edges merged into the lightest
+//     CSRGraph        compressed sparse row arrays (Prim's graph)
+//     EdgeArrayGraph  an array of edges (Kruskal's graph)
+//
+// Nothing is written by reading, so any number of threads may read one
+// graph at once, each through cursors of its own.
+public interface WeightedGraph
+{
+    int vertexCount();
+
+    // The number of edges edges() goes through
+    long edgeCount();
+
+    // A new cursor, to be pointed at a vertex with reset(v) and then stepped
+    // through its neighbours; one cursor can be reset as often as needed
+    NeighbourCursor neighbours();
+
+    // A new cursor that goes through every edge once
+    EdgeCursor edges();
+}
@@ -0,0 +1,65 @@
+// Times the scalar and SIMD dense Prim kernels against each other
+// on a random complete graph and checks they build the same tree.
+//
+// Usage: java --add-modules jdk.incubator.vector DensePrimBench [V] [reps] [seed]
+// after compiling this directory as the README shows
+
+import java.util.Arrays;
+import java.util.Random;
+import jdk.incubator.vector.IntVector;
+
+class DensePrimBench
+{
+    public static void main(String[] args)
+    {
+        int V = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        int reps = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        int n = V + 1;
+        int u, v, w, r;
+
+        if (GraphMatrix.DENSE_VECTOR == null)
+        {
+            System.out.println("Run with --add-modules jdk.incubator.vector to compare against the vector kernel");
+            return;
+        }
+
+        // complete graph with weights 1..1000, symmetric
+        Random rnd = new Random(seed);
+        int[] adj = new int[n * n];
+        Arrays.fill(adj, GraphMatrix.NO_EDGE);
+        for(u = 1; u <= V; ++u)
+            for(v = u + 1; v <= V; ++v)
+            {
+                w = 1 + rnd.nextInt(1000);
+                adj[u * n + v] = w;
+                adj[v * n + u] = w;
+            }
+
+        int[] scalarParent = new int[n];
+        int[] vectorParent = new int[n];
+        long scalarWgt = 0, vectorWgt = 0;
+        long scalarBest = Long.MAX_VALUE, vectorBest = Long.MAX_VALUE, t;
+
+        // alternate the two so neither gets all the warm-up
+        for(r = 0; r < reps; ++r)
+        {
+            t = System.nanoTime();
+            scalarWgt = GraphMatrix.primScan(V, adj, 1, scalarParent);
+            scalarBest = Math.min(scalarBest, System.nanoTime() - t);
+
+            t = System.nanoTime();
+            vectorWgt = DensePrimVector.primScan(V, adj, 1, vectorParent);
+            vectorBest = Math.min(vectorBest, System.nanoTime() - t);
+        }
+
+        if (scalarWgt != vectorWgt || !Arrays.equals(scalarParent, vectorParent))
+            throw new IllegalStateException("Scalar and vector kernels built different trees");
+
+        System.out.println("V = " + V + ", MST weight = " + scalarWgt);
+        System.out.printf("scalar  %8.2f ms%n", scalarBest / 1e6);
+        System.out.printf("vector  %8.2f ms  (%d lanes)%n", vectorBest / 1e6,
+                          IntVector.SPECIES_PREFERRED.length());
+        System.out.printf("speedup %8.2fx%n", (double) scalarBest / vectorBest);
+    }
+}
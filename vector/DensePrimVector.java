@@ -0,0 +1,107 @@
+// SIMD version of GraphMatrix.primScan using the jdk.incubator.vector API
+// Needs javac and java to be run with --add-modules jdk.incubator.vector.
+// It lives in its own source root so that the top directory compiles without
+// that module; GraphMatrix finds it by name when it has been compiled.
+//
+// The two loops of each Prim step work on whole vector lanes:
+//    min-scan   - lane-wise min of dist[] with IN_TREE lanes masked out, then
+//                 the first lane equal to that min, so ties go to the lowest
+//                 numbered vertex exactly as in the scalar loop
+//    relax      - compare a row of the matrix against dist[] and blend the
+//                 lighter weights into dist[] and u into parent[] under the mask
+// The few vertices left over at the end of a row take the scalar path.
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+class DensePrimVector
+{
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int IN_TREE = GraphMatrix.IN_TREE;
+
+    // Same contract and same results as GraphMatrix.primScan
+    static long primScan(int V, int[] adj, int s, int[] parent)
+    {
+        int u, v, step, min, d, row;
+        long wgt_sum = 0;
+        int n = V + 1;
+        int lanes = SPECIES.length();
+        // last v at which a whole vector still fits in 1..V
+        int bound = V + 1 - lanes;
+        int[] dist = new int[n];
+
+        for(v = 1; v <= V; ++v)
+            dist[v] = Integer.MAX_VALUE;
+        dist[s] = 0;
+
+        IntVector maxes = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+
+        for(step = 0; step < V; ++step)
+        {
+            // lane-wise minimum of the vertices outside the tree
+            IntVector acc = maxes;
+            for(v = 1; v <= bound; v += lanes)
+            {
+                IntVector dv = IntVector.fromArray(SPECIES, dist, v);
+                acc = acc.min(dv.blend(maxes, dv.eq(IN_TREE)));
+            }
+            min = acc.reduceLanes(VectorOperators.MIN);
+            for(; v <= V; ++v)
+            {
+                d = dist[v];
+                if (d != IN_TREE && d < min)
+                    min = d;
+            }
+
+            // the rest of the graph cannot be reached from s
+            if (min == Integer.MAX_VALUE)
+                break;
+
+            // first vertex holding that minimum
+            u = 0;
+            for(v = 1; v <= bound; v += lanes)
+            {
+                VectorMask<Integer> hit = IntVector.fromArray(SPECIES, dist, v).eq(min);
+                if (hit.anyTrue())
+                {
+                    u = v + hit.firstTrue();
+                    break;
+                }
+            }
+            if (u == 0)
+                for(; v <= V; ++v)
+                    if (dist[v] == min)
+                    {
+                        u = v;
+                        break;
+                    }
+
+            dist[u] = IN_TREE;
+            wgt_sum += min;
+
+            // relax u's row
+            row = u * n;
+            IntVector us = IntVector.broadcast(SPECIES, u);
+            for(v = 1; v <= bound; v += lanes)
+            {
+                IntVector wv = IntVector.fromArray(SPECIES, adj, row + v);
+                IntVector dv = IntVector.fromArray(SPECIES, dist, v);
+                VectorMask<Integer> lighter = wv.lt(dv);
+                if (lighter.anyTrue())
+                {
+                    dv.blend(wv, lighter).intoArray(dist, v);
+                    IntVector.fromArray(SPECIES, parent, v).blend(us, lighter).intoArray(parent, v);
+                }
+            }
+            for(; v <= V; ++v)
+                if (adj[row + v] < dist[v])
+                {
+                    dist[v] = adj[row + v];
+                    parent[v] = u;
+                }
+        }
+        return wgt_sum;
+    }
+}